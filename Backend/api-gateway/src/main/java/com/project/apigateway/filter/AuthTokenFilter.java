@@ -0,0 +1,79 @@
+package com.project.apigateway.filter;
+
+import com.project.apigateway.utils.AuthTokenVerifier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Rejects requests whose bearer token does not verify. A missing token is only rejected when
+ * {@code auth.token.required} is set, because browsers cannot attach headers to EventSource streams.
+ */
+@Component
+@Slf4j
+public class AuthTokenFilter implements GlobalFilter, Ordered {
+
+    private static final List<PathPattern> PUBLIC_PATHS = List.of(
+            PathPatternParser.defaultInstance.parse("/api/users/login"),
+            PathPatternParser.defaultInstance.parse("/api/payments/ride/{rideId}/stream"));
+
+    private final AuthTokenVerifier authTokenVerifier;
+    private final boolean tokenRequired;
+
+    public AuthTokenFilter(AuthTokenVerifier authTokenVerifier,
+                           @Value("${auth.token.required:false}") boolean tokenRequired) {
+        this.authTokenVerifier = authTokenVerifier;
+        this.tokenRequired = tokenRequired;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (authorization == null) {
+            if (tokenRequired && !isPublic(request)) {
+                return reject(exchange);
+            }
+            return chain.filter(exchange);
+        }
+
+        if (authTokenVerifier.verify(authorization).isEmpty()) {
+            log.debug("Rejecting {} {} with an invalid auth token", request.getMethod(), request.getPath());
+            return reject(exchange);
+        }
+
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private boolean isPublic(ServerHttpRequest request) {
+        // Signing up happens before there is a token to send
+        if (HttpMethod.POST.equals(request.getMethod()) && "/api/users".equals(request.getPath().value())) {
+            return true;
+        }
+        return PUBLIC_PATHS.stream().anyMatch(pattern -> pattern.matches(request.getPath().pathWithinApplication()));
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
+    }
+}
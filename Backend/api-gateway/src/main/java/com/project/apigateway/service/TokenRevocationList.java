@@ -0,0 +1,69 @@
+package com.project.apigateway.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local copy of user-service's token revocations, refreshed by polling.
+ * Between polls a deactivated user's token keeps working; the token TTL bounds that window
+ * even if user-service is unreachable.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private static final ParameterizedTypeReference<List<TokenRevocation>> REVOCATIONS =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    private volatile Map<Long, Long> revokedBefore = Map.of();
+
+    public TokenRevocationList(WebClient.Builder loadBalancedWebClientBuilder,
+                               @Value("${auth.token.revocation-timeout-ms:3000}") long timeoutMs) {
+        this.webClient = loadBalancedWebClientBuilder.baseUrl("http://user-service/api/users").build();
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    // Runs on the scheduler thread, never on an event loop, so blocking here is fine
+    @Scheduled(fixedDelayString = "${auth.token.revocation-poll-ms:10000}")
+    public void refresh() {
+        try {
+            List<TokenRevocation> revocations = webClient.get()
+                    .uri("/token-revocations")
+                    .retrieve()
+                    .bodyToMono(REVOCATIONS)
+                    .block(timeout);
+            if (revocations == null) {
+                return;
+            }
+
+            Map<Long, Long> refreshed = new ConcurrentHashMap<>();
+            for (TokenRevocation revocation : revocations) {
+                refreshed.merge(revocation.userId(), revocation.revokedBeforeMs(), Math::max);
+            }
+            revokedBefore = refreshed;
+        } catch (Exception e) {
+            log.warn("Keeping previous token revocation list: {}", e.getMessage());
+        }
+    }
+
+    public boolean isRevoked(long userId, long issuedAtEpochMillis) {
+        Long cutoff = revokedBefore.get(userId);
+        return cutoff != null && issuedAtEpochMillis < cutoff;
+    }
+
+    record TokenRevocation(Long userId, Long revokedBeforeMs) {
+    }
+}
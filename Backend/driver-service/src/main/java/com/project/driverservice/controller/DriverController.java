@@ -2,10 +2,14 @@ package com.project.driverservice.controller;
 
 import com.project.driverservice.dtos.CreateDriverRequestDto;
 import com.project.driverservice.dtos.DriverDto;
+import com.project.driverservice.dtos.LocationBatchRequestDto;
+import com.project.driverservice.dtos.LocationBatchResponseDto;
+import com.project.driverservice.dtos.NearbyDriverDto;
 import com.project.driverservice.dtos.RatingRequestDto;
 import com.project.driverservice.dtos.UpdateDriverRequestDto;
 import com.project.driverservice.exception.DriverAlreadyExistsException;
 import com.project.driverservice.service.DriverService;
+import com.project.driverservice.service.LocationIngestionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +26,7 @@ import java.util.List;
 public class DriverController {
 
     private final DriverService driverService;
+    private final LocationIngestionService locationIngestionService;
 
     @GetMapping("/available")
     public ResponseEntity<List<DriverDto>> getAvailableDrivers() {
@@ -31,6 +36,17 @@ public class DriverController {
         return ResponseEntity.ok(drivers);
     }
 
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyDriverDto>> getNearbyDrivers(@RequestParam double lat,
+                                                                  @RequestParam double lon,
+                                                                  @RequestParam(defaultValue = "10") int k,
+                                                                  @RequestParam(defaultValue = "5") double radiusKm) {
+        log.debug("Get nearby drivers request received for ({}, {}) k: {} radiusKm: {}", lat, lon, k, radiusKm);
+
+        List<NearbyDriverDto> drivers = driverService.getNearbyDrivers(lat, lon, k, radiusKm);
+        return ResponseEntity.ok(drivers);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<DriverDto> getDriverById(@PathVariable Long id) {
         log.info("Get driver request received for ID: {}", id);
@@ -47,6 +63,14 @@ public class DriverController {
         return ResponseEntity.status(HttpStatus.CREATED).body(driver);
     }
 
+    @PostMapping("/locations:batch")
+    public ResponseEntity<LocationBatchResponseDto> ingestLocations(@Valid @RequestBody LocationBatchRequestDto batchRequest) {
+        log.debug("Location batch received with {} pings", batchRequest.getPings().size());
+
+        LocationBatchResponseDto response = locationIngestionService.ingest(batchRequest);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<DriverDto> updateDriverStatus(@PathVariable Long id, @RequestParam String status) {
         log.info("Update driver status request received for ID: {} to status: {}", id, status);
@@ -55,6 +79,24 @@ public class DriverController {
         return ResponseEntity.ok(driver);
     }
 
+    @PutMapping("/{id}/claim")
+    public ResponseEntity<DriverDto> claimDriver(@PathVariable Long id, @RequestParam Long rideId) {
+        log.info("Claim driver request received for ID: {} by ride: {}", id, rideId);
+
+        return driverService.claimDriver(id, rideId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    @PutMapping("/{id}/release")
+    public ResponseEntity<DriverDto> releaseDriver(@PathVariable Long id, @RequestParam Long rideId) {
+        log.info("Release driver request received for ID: {} by ride: {}", id, rideId);
+
+        return driverService.releaseDriver(id, rideId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
     @PutMapping("/{id}/rating")
     public ResponseEntity<DriverDto> updateDriverRating(@PathVariable Long id,
                                                         @Valid @RequestBody RatingRequestDto ratingRequest) {
@@ -64,6 +106,14 @@ public class DriverController {
         return ResponseEntity.ok(driver);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<DriverDto>> getDriversByIds(@RequestParam List<Long> ids) {
+        log.info("Get drivers by ids request received for {} ids", ids.size());
+
+        List<DriverDto> drivers = driverService.getDriversByIds(ids);
+        return ResponseEntity.ok(drivers);
+    }
+
     @GetMapping
     public ResponseEntity<List<DriverDto>> getAllDrivers() {
         log.info("Get all drivers request received");
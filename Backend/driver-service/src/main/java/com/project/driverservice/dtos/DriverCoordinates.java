@@ -0,0 +1,11 @@
+package com.project.driverservice.dtos;
+
+import java.math.BigDecimal;
+
+public interface DriverCoordinates {
+    Long getDriverId();
+
+    BigDecimal getLatitude();
+
+    BigDecimal getLongitude();
+}
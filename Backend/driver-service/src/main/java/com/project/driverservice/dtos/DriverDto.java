@@ -23,6 +23,7 @@ public class DriverDto {
     private VehicleDto vehicle;
     private LocationDto location;
     private Integer totalRides;
+    private LocalDateTime lastTripEndedAt;
     private LocalDateTime createdDate;
     private LocalDateTime updatedDate;
 }
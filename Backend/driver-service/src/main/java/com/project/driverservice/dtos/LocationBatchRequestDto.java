@@ -0,0 +1,22 @@
+package com.project.driverservice.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationBatchRequestDto {
+    @Valid
+    @NotEmpty(message = "At least one location ping is required")
+    @Size(max = 5000, message = "A batch must not exceed 5000 pings")
+    private List<LocationPingDto> pings;
+}
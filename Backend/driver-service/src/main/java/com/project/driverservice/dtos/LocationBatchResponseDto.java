@@ -0,0 +1,15 @@
+package com.project.driverservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationBatchResponseDto {
+    private int accepted;
+    private int pending;
+}
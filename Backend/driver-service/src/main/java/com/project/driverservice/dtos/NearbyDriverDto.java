@@ -0,0 +1,17 @@
+package com.project.driverservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyDriverDto {
+    private Long driverId;
+    private double latitude;
+    private double longitude;
+    private double distanceKm;
+}
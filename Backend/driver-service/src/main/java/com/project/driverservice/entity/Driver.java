@@ -10,10 +10,13 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "drivers")
+@Table(name = "drivers", indexes = {
+        @Index(name = "idx_drivers_status", columnList = "status")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -33,15 +36,23 @@ public class Driver {
     @Column(unique = true, nullable = false)
     private String email;
 
-    @Column(precision = 3, scale = 2)
+    @Column(name = "rating_sum", nullable = false)
     @Builder.Default
-    private BigDecimal rating = BigDecimal.valueOf(0.0);
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_count", nullable = false)
+    @Builder.Default
+    private Integer ratingCount = 0;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
     private DriverStatus status = DriverStatus.ACTIVE;
 
+    // Ride holding the claim while BUSY; only that ride can release the driver
+    @Column(name = "current_ride_id")
+    private Long currentRideId;
+
     @OneToOne(mappedBy = "driver", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Vehicle vehicle;
 
@@ -52,6 +63,9 @@ public class Driver {
     @Builder.Default
     private Integer totalRides = 0;
 
+    @Column(name = "last_trip_ended_at")
+    private LocalDateTime lastTripEndedAt;
+
     @CreationTimestamp
     @Column(name = "created_date", updatable = false)
     private LocalDateTime createdDate;
@@ -59,4 +73,12 @@ public class Driver {
     @UpdateTimestamp
     @Column(name = "updated_date")
     private LocalDateTime updatedDate;
+
+    public BigDecimal getRating() {
+        if (ratingCount == null || ratingCount == 0) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        return BigDecimal.valueOf(ratingSum).divide(BigDecimal.valueOf(ratingCount), 2, RoundingMode.HALF_UP);
+    }
 }
@@ -2,5 +2,6 @@ package com.project.driverservice.enums;
 
 public enum DriverStatus {
     ACTIVE,
+    BUSY,
     INACTIVE
 }
@@ -1,11 +1,16 @@
 package com.project.driverservice.repository;
 
+import com.project.driverservice.dtos.DriverCoordinates;
 import com.project.driverservice.entity.Driver;
 import com.project.driverservice.enums.DriverStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,4 +32,36 @@ public interface DriverRepository extends JpaRepository<Driver, Long> {
 
     @Query("SELECT d FROM Driver d LEFT JOIN FETCH d.vehicle LEFT JOIN FETCH d.location WHERE d.id = :id")
     Optional<Driver> findByIdWithDetails(Long id);
+
+    @Query("SELECT d FROM Driver d LEFT JOIN FETCH d.vehicle LEFT JOIN FETCH d.location WHERE d.status = :status")
+    List<Driver> findByStatusWithDetails(@Param("status") DriverStatus status);
+
+    @Query("SELECT d FROM Driver d LEFT JOIN FETCH d.vehicle LEFT JOIN FETCH d.location")
+    List<Driver> findAllWithDetails();
+
+    @Query("SELECT d FROM Driver d LEFT JOIN FETCH d.vehicle LEFT JOIN FETCH d.location WHERE d.id IN :ids")
+    List<Driver> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT l.driver.id AS driverId, l.latitude AS latitude, l.longitude AS longitude " +
+            "FROM Location l WHERE l.driver.status = :status")
+    List<DriverCoordinates> findCoordinatesByStatus(@Param("status") DriverStatus status);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Driver d SET d.ratingSum = d.ratingSum + :rating, d.ratingCount = d.ratingCount + 1, " +
+            "d.totalRides = d.totalRides + 1, d.updatedDate = :updatedDate WHERE d.id = :id")
+    int addRating(@Param("id") Long id, @Param("rating") int rating, @Param("updatedDate") LocalDateTime updatedDate);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Driver d SET d.status = com.project.driverservice.enums.DriverStatus.BUSY, " +
+            "d.currentRideId = :rideId, d.updatedDate = :updatedDate " +
+            "WHERE d.id = :id AND (d.status = com.project.driverservice.enums.DriverStatus.ACTIVE " +
+            "OR (d.status = com.project.driverservice.enums.DriverStatus.BUSY AND d.currentRideId = :rideId))")
+    int claimForRide(@Param("id") Long id, @Param("rideId") Long rideId, @Param("updatedDate") LocalDateTime updatedDate);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Driver d SET d.status = com.project.driverservice.enums.DriverStatus.ACTIVE, " +
+            "d.currentRideId = NULL, d.lastTripEndedAt = :endedAt, d.updatedDate = :endedAt " +
+            "WHERE d.id = :id AND d.status = com.project.driverservice.enums.DriverStatus.BUSY " +
+            "AND d.currentRideId = :rideId")
+    int releaseFromRide(@Param("id") Long id, @Param("rideId") Long rideId, @Param("endedAt") LocalDateTime endedAt);
 }
@@ -0,0 +1,202 @@
+package com.project.driverservice.service;
+
+import com.project.driverservice.dtos.NearbyDriverDto;
+import com.project.driverservice.utils.GeoUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory grid index of ACTIVE driver positions.
+ * Drivers are bucketed into fixed-size lat/lon cells so a nearby query only
+ * visits the rings of cells around the search point instead of every driver.
+ */
+@Component
+@Slf4j
+public class DriverLocationIndex {
+
+    private static final int MAX_RING = 64;
+
+    private final double cellSizeDegrees;
+    private final Map<Long, IndexedDriver> drivers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    public DriverLocationIndex(@Value("${driver.location-index.cell-size-degrees:0.05}") double cellSizeDegrees) {
+        this.cellSizeDegrees = cellSizeDegrees;
+    }
+
+    public void upsert(long driverId, double latitude, double longitude) {
+        long cell = cellOf(latitude, longitude);
+
+        // compute() serialises updates per driver, so cell moves never interleave
+        drivers.compute(driverId, (id, previous) -> {
+            if (previous != null && previous.cell != cell) {
+                removeFromCell(previous.cell, driverId);
+            }
+            if (previous == null || previous.cell != cell) {
+                addToCell(cell, driverId);
+            }
+            return new IndexedDriver(driverId, latitude, longitude, cell);
+        });
+    }
+
+    public void move(long driverId, double latitude, double longitude) {
+        long cell = cellOf(latitude, longitude);
+
+        // Only drivers already in the index (ACTIVE) are moved; others are ignored
+        drivers.computeIfPresent(driverId, (id, previous) -> {
+            if (previous.cell != cell) {
+                removeFromCell(previous.cell, driverId);
+                addToCell(cell, driverId);
+            }
+            return new IndexedDriver(driverId, latitude, longitude, cell);
+        });
+    }
+
+    public void remove(long driverId) {
+        drivers.computeIfPresent(driverId, (id, previous) -> {
+            removeFromCell(previous.cell, driverId);
+            return null;
+        });
+    }
+
+    public void clear() {
+        drivers.clear();
+        cells.clear();
+    }
+
+    public int size() {
+        return drivers.size();
+    }
+
+    public List<NearbyDriverDto> findNearest(double latitude, double longitude, int k, double radiusKm) {
+        if (k <= 0 || radiusKm <= 0 || drivers.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int row = row(latitude);
+        int col = col(longitude);
+
+        // The narrowest cell side bounds how far away the next ring can be
+        double cellHeightKm = cellSizeDegrees * GeoUtils.KM_PER_DEGREE_LATITUDE;
+        double cellWidthKm = cellHeightKm * Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double minCellKm = Math.min(cellHeightKm, cellWidthKm);
+        int maxRing = (int) Math.min(MAX_RING, Math.ceil(radiusKm / minCellKm));
+
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>(k, Comparator.comparingDouble(Candidate::distanceKm).reversed());
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int r = row - ring; r <= row + ring; r++) {
+                for (int c = col - ring; c <= col + ring; c++) {
+                    if (Math.abs(r - row) != ring && Math.abs(c - col) != ring) {
+                        continue;
+                    }
+                    collect(cellKey(r, c), latitude, longitude, k, radiusKm, nearest);
+                }
+            }
+
+            // Anything in the next ring is at least ring * minCellKm away
+            if (nearest.size() == k && nearest.peek().distanceKm() <= ring * minCellKm) {
+                break;
+            }
+        }
+
+        List<NearbyDriverDto> result = new ArrayList<>(nearest.size());
+        while (!nearest.isEmpty()) {
+            Candidate candidate = nearest.poll();
+            IndexedDriver driver = candidate.driver();
+            result.add(NearbyDriverDto.builder()
+                    .driverId(driver.driverId)
+                    .latitude(driver.latitude)
+                    .longitude(driver.longitude)
+                    .distanceKm(candidate.distanceKm())
+                    .build());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void collect(long cell, double latitude, double longitude, int k, double radiusKm,
+                         PriorityQueue<Candidate> nearest) {
+        Set<Long> members = cells.get(cell);
+        if (members == null) {
+            return;
+        }
+
+        for (Long driverId : members) {
+            IndexedDriver driver = drivers.get(driverId);
+            if (driver == null) {
+                continue;
+            }
+
+            double distanceKm = GeoUtils.haversineKm(latitude, longitude, driver.latitude, driver.longitude);
+            if (distanceKm > radiusKm) {
+                continue;
+            }
+
+            if (nearest.size() < k) {
+                nearest.add(new Candidate(driver, distanceKm));
+            } else if (distanceKm < nearest.peek().distanceKm()) {
+                nearest.poll();
+                nearest.add(new Candidate(driver, distanceKm));
+            }
+        }
+    }
+
+    private void addToCell(long cell, long driverId) {
+        cells.compute(cell, (c, members) -> {
+            Set<Long> updated = members != null ? members : ConcurrentHashMap.newKeySet();
+            updated.add(driverId);
+            return updated;
+        });
+    }
+
+    private void removeFromCell(long cell, long driverId) {
+        cells.computeIfPresent(cell, (c, members) -> {
+            members.remove(driverId);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        return cellKey(row(latitude), col(longitude));
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellSizeDegrees);
+    }
+
+    private int col(double longitude) {
+        return (int) Math.floor(longitude / cellSizeDegrees);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    private static final class IndexedDriver {
+        private final long driverId;
+        private final double latitude;
+        private final double longitude;
+        private final long cell;
+
+        private IndexedDriver(long driverId, double latitude, double longitude, long cell) {
+            this.driverId = driverId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cell = cell;
+        }
+    }
+
+    private record Candidate(IndexedDriver driver, double distanceKm) {
+    }
+}
@@ -2,10 +2,13 @@ package com.project.driverservice.service;
 
 
 import com.project.driverservice.dtos.CreateDriverRequestDto;
+import com.project.driverservice.dtos.DriverCoordinates;
 import com.project.driverservice.dtos.DriverDto;
+import com.project.driverservice.dtos.NearbyDriverDto;
 import com.project.driverservice.dtos.RatingRequestDto;
 import com.project.driverservice.dtos.UpdateDriverRequestDto;
 import com.project.driverservice.entity.Driver;
+import com.project.driverservice.entity.Location;
 import com.project.driverservice.enums.DriverStatus;
 import com.project.driverservice.exception.DriverAlreadyExistsException;
 import com.project.driverservice.exception.ResourceNotFoundException;
@@ -13,12 +16,19 @@ import com.project.driverservice.repository.DriverRepository;
 import com.project.driverservice.utils.DriverMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -26,14 +36,42 @@ import java.util.List;
 @Transactional
 public class DriverService {
 
+    private static final int MAX_NEARBY_DRIVERS = 100;
+    private static final int IN_LIST_CHUNK_SIZE = 500;
+
     private final DriverRepository driverRepository;
     private final DriverMapper driverMapper;
+    private final DriverLocationIndex driverLocationIndex;
+    private final LocationIngestionService locationIngestionService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadLocationIndex() {
+        driverLocationIndex.clear();
+
+        List<DriverCoordinates> coordinates = driverRepository.findCoordinatesByStatus(DriverStatus.ACTIVE);
+        for (DriverCoordinates coordinate : coordinates) {
+            if (coordinate.getLatitude() != null && coordinate.getLongitude() != null) {
+                driverLocationIndex.upsert(coordinate.getDriverId(),
+                        coordinate.getLatitude().doubleValue(), coordinate.getLongitude().doubleValue());
+            }
+        }
+
+        log.info("Driver location index loaded with {} active drivers", driverLocationIndex.size());
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<NearbyDriverDto> getNearbyDrivers(double latitude, double longitude, int k, double radiusKm) {
+        log.debug("Fetching {} nearest drivers within {} km of ({}, {})", k, radiusKm, latitude, longitude);
+
+        return driverLocationIndex.findNearest(latitude, longitude, Math.min(k, MAX_NEARBY_DRIVERS), radiusKm);
+    }
 
     @Transactional(readOnly = true)
     public List<DriverDto> getAvailableDrivers() {
         log.info("Fetching available drivers");
 
-        List<Driver> drivers = driverRepository.findByStatus(DriverStatus.ACTIVE);
+        List<Driver> drivers = driverRepository.findByStatusWithDetails(DriverStatus.ACTIVE);
         return driverMapper.toDtoList(drivers);
     }
 
@@ -60,6 +98,7 @@ public class DriverService {
 
         Driver driver = driverMapper.toEntity(createDriverRequest);
         Driver savedDriver = driverRepository.save(driver);
+        syncLocationIndex(savedDriver);
 
         log.info("Driver created successfully: {}", savedDriver.getName());
 
@@ -76,7 +115,11 @@ public class DriverService {
                     .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + id));
 
             driver.setStatus(status);
+            if (!DriverStatus.BUSY.equals(status)) {
+                driver.setCurrentRideId(null);
+            }
             Driver updatedDriver = driverRepository.save(driver);
+            syncLocationIndex(updatedDriver);
 
             log.info("Driver status updated successfully: {}", updatedDriver.getName());
 
@@ -89,37 +132,56 @@ public class DriverService {
     public DriverDto updateDriverRating(Long driverId, RatingRequestDto ratingRequest) {
         log.info("Updating driver rating: {} with rating: {}", driverId, ratingRequest.getRating());
 
-        Driver driver = driverRepository.findById(driverId)
+        // The 1-5 range is enforced by @Valid on the request; this is a single atomic increment
+        // and the average is derived from sum / count on read
+        int updated = driverRepository.addRating(driverId, ratingRequest.getRating(), LocalDateTime.now());
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Driver not found with id: " + driverId);
+        }
+
+        Driver updatedDriver = driverRepository.findByIdWithDetails(driverId)
                 .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + driverId));
 
-        // Calculate new average rating
-        BigDecimal currentRating = driver.getRating();
-        int totalRides = driver.getTotalRides();
+        log.info("Driver rating updated successfully: {}", updatedDriver.getName());
 
-        BigDecimal newRating;
-        if (totalRides == 0) {
-            newRating = BigDecimal.valueOf(ratingRequest.getRating());
-        } else {
-            BigDecimal totalPoints = currentRating.multiply(BigDecimal.valueOf(totalRides));
-            totalPoints = totalPoints.add(BigDecimal.valueOf(ratingRequest.getRating()));
-            newRating = totalPoints.divide(BigDecimal.valueOf(totalRides + 1), 2, RoundingMode.HALF_UP);
-        }
+        return driverMapper.toDto(updatedDriver);
+    }
 
-        driver.setRating(newRating);
-        driver.setTotalRides(totalRides + 1);
+    public Optional<DriverDto> claimDriver(Long id, Long rideId) {
+        log.info("Claiming driver {} for ride {}", id, rideId);
 
-        Driver updatedDriver = driverRepository.save(driver);
+        // Compare-and-set in a single UPDATE so two bookings can never claim the same driver
+        int updated = driverRepository.claimForRide(id, rideId, LocalDateTime.now());
+        return afterTransition(id, updated, "claimed for ride " + rideId);
+    }
 
-        log.info("Driver rating updated successfully: {}", updatedDriver.getName());
+    public Optional<DriverDto> releaseDriver(Long id, Long rideId) {
+        log.info("Releasing driver {} from ride {}", id, rideId);
 
-        return driverMapper.toDto(updatedDriver);
+        // Only the claiming ride can release, so a late or duplicate release never frees a re-claimed driver
+        int updated = driverRepository.releaseFromRide(id, rideId, LocalDateTime.now());
+        return afterTransition(id, updated, "released from ride " + rideId);
     }
 
     @Transactional(readOnly = true)
     public List<DriverDto> getAllDrivers() {
         log.info("Fetching all drivers");
 
-        List<Driver> drivers = driverRepository.findAll();
+        List<Driver> drivers = driverRepository.findAllWithDetails();
+        return driverMapper.toDtoList(drivers);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DriverDto> getDriversByIds(List<Long> ids) {
+        log.info("Fetching {} drivers by id", ids.size());
+
+        // One IN query per chunk keeps large lists under the bind-parameter limit
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Driver> drivers = new ArrayList<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += IN_LIST_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, distinctIds.size()));
+            drivers.addAll(driverRepository.findAllWithDetailsByIdIn(chunk));
+        }
         return driverMapper.toDtoList(drivers);
     }
 
@@ -145,9 +207,54 @@ public class DriverService {
 
         driverMapper.updateEntityFromDto(updateDriverRequest, driver);
         Driver updatedDriver = driverRepository.save(driver);
+        syncLocationIndex(updatedDriver);
 
         log.info("Driver updated successfully: {}", updatedDriver.getName());
 
         return driverMapper.toDto(updatedDriver);
     }
+
+    private Optional<DriverDto> afterTransition(Long id, int updated, String transition) {
+        Driver driver = driverRepository.findByIdWithDetails(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + id));
+
+        if (updated == 0) {
+            log.info("Driver {} is {} and cannot be {}", id, driver.getStatus(), transition);
+            return Optional.empty();
+        }
+
+        syncLocationIndex(driver);
+
+        return Optional.of(driverMapper.toDto(driver));
+    }
+
+    private void syncLocationIndex(Driver driver) {
+        long driverId = driver.getId();
+        Location location = driver.getLocation();
+        boolean indexable = DriverStatus.ACTIVE.equals(driver.getStatus()) && location != null
+                && location.getLatitude() != null && location.getLongitude() != null;
+        double latitude = indexable ? location.getLatitude().doubleValue() : 0;
+        double longitude = indexable ? location.getLongitude().doubleValue() : 0;
+
+        Runnable update = () -> {
+            if (indexable) {
+                // Buffered pings are newer than the stored coordinates until the next flush
+                locationIngestionService.indexAtLatestPosition(driverId, latitude, longitude);
+            } else {
+                driverLocationIndex.remove(driverId);
+            }
+        };
+
+        // Only publish to the index once the change is visible in the database
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
 }
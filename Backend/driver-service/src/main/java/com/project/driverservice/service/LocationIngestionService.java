@@ -0,0 +1,108 @@
+package com.project.driverservice.service;
+
+import com.project.driverservice.dtos.LocationBatchRequestDto;
+import com.project.driverservice.dtos.LocationBatchResponseDto;
+import com.project.driverservice.dtos.LocationPingDto;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers high-frequency GPS pings and keeps only the latest one per driver.
+ * The buffer is written to driver_locations in periodic JDBC batches, so a ping
+ * never loads the driver aggregate. A ping stays buffered until it is written, so the
+ * buffer always holds a driver's newest position when it is newer than the stored one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LocationIngestionService {
+
+    private static final String UPDATE_LOCATION_SQL =
+            "UPDATE driver_locations SET latitude = ?, longitude = ? WHERE driver_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DriverLocationIndex driverLocationIndex;
+
+    private final Map<Long, LocationPingDto> latestPings = new ConcurrentHashMap<>();
+
+    @Value("${driver.location-ingestion.batch-size:500}")
+    private int batchSize;
+
+    public LocationBatchResponseDto ingest(LocationBatchRequestDto batchRequest) {
+        long now = System.currentTimeMillis();
+
+        for (LocationPingDto ping : batchRequest.getPings()) {
+            // Client clocks are only trusted up to ours, so a future-dated ping cannot pin a driver in place
+            ping.setTimestamp(ping.getTimestamp() == null ? now : Math.min(ping.getTimestamp(), now));
+
+            // Moving inside compute() keeps the index in step with the newest buffered ping per driver
+            latestPings.compute(ping.getDriverId(), (driverId, current) -> {
+                if (current != null && current.getTimestamp() > ping.getTimestamp()) {
+                    return current;
+                }
+                driverLocationIndex.move(driverId, ping.getLatitude(), ping.getLongitude());
+                return ping;
+            });
+        }
+
+        return LocationBatchResponseDto.builder()
+                .accepted(batchRequest.getPings().size())
+                .pending(latestPings.size())
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${driver.location-ingestion.flush-interval-ms:2000}")
+    public void flush() {
+        if (latestPings.isEmpty()) {
+            return;
+        }
+
+        List<LocationPingDto> pending = new ArrayList<>(latestPings.values());
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LOCATION_SQL, pending, batchSize, (ps, ping) -> {
+                ps.setDouble(1, ping.getLatitude());
+                ps.setDouble(2, ping.getLongitude());
+                ps.setLong(3, ping.getDriverId());
+            });
+            // remove(key, value) keeps any newer ping that arrived during the write for the next run
+            for (LocationPingDto ping : pending) {
+                latestPings.remove(ping.getDriverId(), ping);
+            }
+            log.debug("Flushed {} driver locations", pending.size());
+        } catch (Exception e) {
+            log.error("Failed to flush {} driver locations, will retry: {}", pending.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Puts the driver into the location index at its newest known position: the buffered ping if
+     * there is one, otherwise the stored coordinates. Runs under the same per-driver lock as
+     * {@link #ingest}, so a ping arriving meanwhile is not overwritten by an older position.
+     */
+    public void indexAtLatestPosition(long driverId, double storedLatitude, double storedLongitude) {
+        latestPings.compute(driverId, (id, latest) -> {
+            if (latest != null) {
+                driverLocationIndex.upsert(id, latest.getLatitude(), latest.getLongitude());
+            } else {
+                driverLocationIndex.upsert(id, storedLatitude, storedLongitude);
+            }
+            return latest;
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -7,7 +7,6 @@ import com.project.driverservice.entity.Location;
 import com.project.driverservice.entity.Vehicle;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,6 +28,7 @@ public class DriverMapper {
                 .vehicle(toVehicleDto(driver.getVehicle()))
                 .location(toLocationDto(driver.getLocation()))
                 .totalRides(driver.getTotalRides())
+                .lastTripEndedAt(driver.getLastTripEndedAt())
                 .createdDate(driver.getCreatedDate())
                 .updatedDate(driver.getUpdatedDate())
                 .build();
@@ -80,7 +80,6 @@ public class DriverMapper {
                 .name(dto.getName())
                 .phone(dto.getPhone())
                 .email(dto.getEmail())
-                .rating(BigDecimal.valueOf(0.0))
                 .totalRides(0)
                 .build();
 
@@ -0,0 +1,41 @@
+-- Baseline schema for driver-service. Replaces spring.jpa.hibernate.ddl-auto=create;
+-- Hibernate now only validates the entities against these tables.
+
+CREATE TABLE drivers (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name               VARCHAR(100) NOT NULL,
+    phone              VARCHAR(20)  NOT NULL,
+    email              VARCHAR(255) NOT NULL,
+    rating_sum         BIGINT       NOT NULL DEFAULT 0,
+    rating_count       INTEGER      NOT NULL DEFAULT 0,
+    status             VARCHAR(20)  NOT NULL DEFAULT 'ACTIVE' CHECK (status IN ('ACTIVE', 'BUSY', 'INACTIVE')),
+    total_rides        INTEGER               DEFAULT 0,
+    last_trip_ended_at TIMESTAMP(6),
+    created_date       TIMESTAMP(6),
+    updated_date       TIMESTAMP(6),
+    CONSTRAINT uk_drivers_phone UNIQUE (phone),
+    CONSTRAINT uk_drivers_email UNIQUE (email)
+);
+
+-- findByStatus / findByStatusWithDetails / findCoordinatesByStatus
+CREATE INDEX idx_drivers_status ON drivers (status);
+
+CREATE TABLE vehicles (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    model            VARCHAR(50) NOT NULL,
+    plate_number     VARCHAR(20) NOT NULL,
+    manufacture_year INTEGER,
+    color            VARCHAR(30),
+    driver_id        BIGINT      NOT NULL REFERENCES drivers (id),
+    CONSTRAINT uk_vehicles_plate_number UNIQUE (plate_number),
+    CONSTRAINT uk_vehicles_driver_id UNIQUE (driver_id)
+);
+
+CREATE TABLE driver_locations (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    latitude  NUMERIC(10, 8),
+    longitude NUMERIC(11, 8),
+    address   VARCHAR(200),
+    driver_id BIGINT NOT NULL REFERENCES drivers (id),
+    CONSTRAINT uk_driver_locations_driver_id UNIQUE (driver_id)
+);
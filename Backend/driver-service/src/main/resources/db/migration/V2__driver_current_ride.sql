@@ -0,0 +1,2 @@
+-- Ties a BUSY driver to the ride that claimed it, so only that ride can release the driver.
+ALTER TABLE drivers ADD COLUMN current_ride_id BIGINT;
@@ -0,0 +1,94 @@
+package com.project.driverservice.service;
+
+import com.project.driverservice.dtos.DriverDto;
+import com.project.driverservice.enums.DriverStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class DriverClaimConcurrencyTest {
+
+    private static final int CONTENDERS = 16;
+
+    @Autowired
+    private DriverService driverService;
+
+    @Test
+    void onlyOneRideClaimsAndOnlyThatRideReleases() throws Exception {
+        DriverDto driver = TestDrivers.create(driverService);
+        long firstRideId = System.nanoTime();
+
+        List<Long> claimedBy = contend(rideId -> driverService.claimDriver(driver.getId(), rideId), firstRideId);
+        assertEquals(1, claimedBy.size());
+        assertEquals(DriverStatus.BUSY, driverService.getDriverById(driver.getId()).getStatus());
+
+        List<Long> releasedBy = contend(rideId -> driverService.releaseDriver(driver.getId(), rideId), firstRideId);
+        assertEquals(claimedBy, releasedBy);
+        assertEquals(DriverStatus.ACTIVE, driverService.getDriverById(driver.getId()).getStatus());
+    }
+
+    @Test
+    void lateReleaseDoesNotFreeDriverClaimedByAnotherRide() {
+        DriverDto driver = TestDrivers.create(driverService);
+        long firstRide = System.nanoTime();
+        long secondRide = firstRide + 1;
+
+        assertTrue(driverService.claimDriver(driver.getId(), firstRide).isPresent());
+        assertTrue(driverService.releaseDriver(driver.getId(), firstRide).isPresent());
+        assertTrue(driverService.claimDriver(driver.getId(), secondRide).isPresent());
+
+        // Duplicate release from the finished ride, and a retried claim from the current one
+        assertTrue(driverService.releaseDriver(driver.getId(), firstRide).isEmpty());
+        assertTrue(driverService.claimDriver(driver.getId(), secondRide).isPresent());
+        assertTrue(driverService.claimDriver(driver.getId(), firstRide).isEmpty());
+        assertEquals(DriverStatus.BUSY, driverService.getDriverById(driver.getId()).getStatus());
+
+        assertTrue(driverService.releaseDriver(driver.getId(), secondRide).isPresent());
+        assertEquals(DriverStatus.ACTIVE, driverService.getDriverById(driver.getId()).getStatus());
+    }
+
+    private List<Long> contend(RideAction action, long firstRideId) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONTENDERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<DriverDto>>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONTENDERS; i++) {
+                long rideId = firstRideId + i;
+                Callable<Optional<DriverDto>> attempt = () -> {
+                    start.await();
+                    return action.apply(rideId);
+                };
+                futures.add(executor.submit(attempt));
+            }
+            start.countDown();
+
+            List<Long> winners = new ArrayList<>();
+            for (int i = 0; i < CONTENDERS; i++) {
+                if (futures.get(i).get().isPresent()) {
+                    winners.add(firstRideId + i);
+                }
+            }
+            return winners;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RideAction {
+        Optional<DriverDto> apply(long rideId);
+    }
+}
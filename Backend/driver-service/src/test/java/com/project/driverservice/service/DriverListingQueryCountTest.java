@@ -0,0 +1,93 @@
+package com.project.driverservice.service;
+
+import com.project.driverservice.dtos.DriverDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Rolled back after each test, so the drivers created here never pile up in the shared database
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class DriverListingQueryCountTest {
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listingStatementCountDoesNotGrowWithDriverCount() {
+        Set<Long> created = new HashSet<>(createDrivers(3));
+        long allDriversSmall = statementsFor(driverService::getAllDrivers, created);
+        long availableDriversSmall = statementsFor(driverService::getAvailableDrivers, created);
+
+        created.addAll(createDrivers(20));
+        long allDriversLarge = statementsFor(driverService::getAllDrivers, created);
+        long availableDriversLarge = statementsFor(driverService::getAvailableDrivers, created);
+
+        assertEquals(allDriversSmall, allDriversLarge);
+        assertEquals(availableDriversSmall, availableDriversLarge);
+        assertTrue(allDriversLarge <= 1, "expected a single query, got " + allDriversLarge);
+    }
+
+    @Test
+    void byIdsLookupIsASingleQuery() {
+        List<Long> ids = createDrivers(5);
+
+        long statements = statementsFor(() -> driverService.getDriversByIds(ids), new HashSet<>(ids));
+
+        assertEquals(1, statements);
+        assertEquals(ids.size(), driverService.getDriversByIds(ids).size());
+    }
+
+    // Only the drivers this test created are checked; the table may hold any number of others
+    private long statementsFor(Supplier<List<DriverDto>> listing, Set<Long> created) {
+        statistics.clear();
+        List<DriverDto> drivers = listing.get();
+        long statements = statistics.getPrepareStatementCount();
+
+        List<DriverDto> ours = drivers.stream().filter(d -> created.contains(d.getId())).toList();
+        assertEquals(created.size(), ours.size());
+        assertTrue(ours.stream().allMatch(d -> d.getVehicle() != null && d.getLocation() != null));
+        return statements;
+    }
+
+    private List<Long> createDrivers(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(TestDrivers.create(driverService).getId());
+        }
+
+        // Write the inserts now and start from an empty persistence context, so the listing is read from the database
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+}
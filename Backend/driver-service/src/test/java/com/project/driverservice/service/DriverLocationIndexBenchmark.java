@@ -0,0 +1,112 @@
+package com.project.driverservice.service;
+
+import com.project.driverservice.dtos.NearbyDriverDto;
+import com.project.driverservice.utils.GeoUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearest-K lookup from {@link DriverLocationIndex} against a full scan of every ACTIVE driver's
+ * stored BigDecimal coordinates, which is what answering from {@code findByStatus(ACTIVE)} amounts to
+ * once the rows are loaded.
+ * <p>
+ * Run with {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath org.openjdk.jmh.Main DriverLocationIndexBenchmark"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DriverLocationIndexBenchmark {
+
+    private static final int K = 10;
+    private static final double RADIUS_KM = 5;
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "10000", "100000"})
+    public int activeDrivers;
+
+    private DriverLocationIndex index;
+    private BigDecimal[] latitudes;
+    private BigDecimal[] longitudes;
+    private double[][] queries;
+    private int nextQuery;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new DriverLocationIndex(0.05);
+        latitudes = new BigDecimal[activeDrivers];
+        longitudes = new BigDecimal[activeDrivers];
+        for (int i = 0; i < activeDrivers; i++) {
+            double latitude = 40.5 + random.nextDouble() * 0.5;
+            double longitude = -74.2 + random.nextDouble() * 0.5;
+            index.upsert(i, latitude, longitude);
+            latitudes[i] = BigDecimal.valueOf(latitude).setScale(8, RoundingMode.HALF_UP);
+            longitudes[i] = BigDecimal.valueOf(longitude).setScale(8, RoundingMode.HALF_UP);
+        }
+
+        queries = new double[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = new double[]{40.5 + random.nextDouble() * 0.5, -74.2 + random.nextDouble() * 0.5};
+        }
+    }
+
+    @Benchmark
+    public List<NearbyDriverDto> gridIndex() {
+        double[] query = nextQuery();
+        return index.findNearest(query[0], query[1], K, RADIUS_KM);
+    }
+
+    @Benchmark
+    public List<NearbyDriverDto> fullScan() {
+        double[] query = nextQuery();
+        Comparator<NearbyDriverDto> byDistance = Comparator.comparingDouble(NearbyDriverDto::getDistanceKm);
+        PriorityQueue<NearbyDriverDto> nearest = new PriorityQueue<>(K, byDistance.reversed());
+
+        for (int i = 0; i < activeDrivers; i++) {
+            double latitude = latitudes[i].doubleValue();
+            double longitude = longitudes[i].doubleValue();
+            double distanceKm = GeoUtils.haversineKm(query[0], query[1], latitude, longitude);
+            if (distanceKm > RADIUS_KM) {
+                continue;
+            }
+            if (nearest.size() < K || distanceKm < nearest.peek().getDistanceKm()) {
+                if (nearest.size() == K) {
+                    nearest.poll();
+                }
+                nearest.add(new NearbyDriverDto((long) i, latitude, longitude, distanceKm));
+            }
+        }
+
+        List<NearbyDriverDto> result = new ArrayList<>(nearest);
+        result.sort(byDistance);
+        return result;
+    }
+
+    private double[] nextQuery() {
+        double[] query = queries[nextQuery];
+        nextQuery = (nextQuery + 1) & (QUERIES - 1);
+        return query;
+    }
+}
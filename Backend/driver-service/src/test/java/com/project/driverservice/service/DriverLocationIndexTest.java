@@ -0,0 +1,72 @@
+package com.project.driverservice.service;
+
+import com.project.driverservice.dtos.NearbyDriverDto;
+import com.project.driverservice.utils.GeoUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DriverLocationIndexTest {
+
+    private final DriverLocationIndex index = new DriverLocationIndex(0.05);
+
+    @Test
+    void findNearestMatchesBruteForceScan() {
+        Random random = new Random(42);
+        List<double[]> positions = new ArrayList<>();
+        for (long id = 0; id < 5_000; id++) {
+            double latitude = 40.5 + random.nextDouble() * 0.5;
+            double longitude = -74.2 + random.nextDouble() * 0.5;
+            positions.add(new double[]{id, latitude, longitude});
+            index.upsert(id, latitude, longitude);
+        }
+
+        double latitude = 40.75;
+        double longitude = -73.98;
+        List<NearbyDriverDto> nearest = index.findNearest(latitude, longitude, 10, 5);
+
+        List<double[]> expected = positions.stream()
+                .map(p -> new double[]{p[0], GeoUtils.haversineKm(latitude, longitude, p[1], p[2])})
+                .filter(p -> p[1] <= 5)
+                .sorted(Comparator.comparingDouble(p -> p[1]))
+                .limit(10)
+                .toList();
+
+        assertEquals(expected.size(), nearest.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals((long) expected.get(i)[0], nearest.get(i).getDriverId());
+        }
+    }
+
+    @Test
+    void movedAndRemovedDriversAreReflected() {
+        index.upsert(1L, 40.7128, -74.0060);
+        index.upsert(2L, 40.7130, -74.0062);
+
+        index.upsert(1L, 34.0522, -118.2437);
+        List<NearbyDriverDto> newYork = index.findNearest(40.7128, -74.0060, 5, 2);
+        assertEquals(1, newYork.size());
+        assertEquals(2L, newYork.get(0).getDriverId());
+
+        index.remove(2L);
+        assertTrue(index.findNearest(40.7128, -74.0060, 5, 2).isEmpty());
+        assertEquals(1, index.findNearest(34.0522, -118.2437, 5, 2).size());
+    }
+
+    @Test
+    void radiusLimitsResults() {
+        index.upsert(1L, 40.7128, -74.0060);
+        index.upsert(2L, 40.8128, -74.0060);
+
+        List<NearbyDriverDto> nearest = index.findNearest(40.7128, -74.0060, 5, 5);
+
+        assertEquals(1, nearest.size());
+        assertEquals(1L, nearest.get(0).getDriverId());
+    }
+}
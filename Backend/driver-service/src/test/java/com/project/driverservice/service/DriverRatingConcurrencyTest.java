@@ -0,0 +1,77 @@
+package com.project.driverservice.service;
+
+import com.project.driverservice.dtos.DriverDto;
+import com.project.driverservice.dtos.RatingRequestDto;
+import com.project.driverservice.exception.ResourceNotFoundException;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class DriverRatingConcurrencyTest {
+
+    private static final int RATINGS = 400;
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private Validator validator;
+
+    @Test
+    void concurrentRatingsAreNotLost() throws Throwable {
+        DriverDto driver = TestDrivers.create(driverService);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+        long expectedSum = 0;
+        try {
+            for (int i = 0; i < RATINGS; i++) {
+                int rating = (i % 5) + 1;
+                long rideId = i;
+                expectedSum += rating;
+                futures.add(executor.submit(() -> driverService.updateDriverRating(driver.getId(),
+                        RatingRequestDto.builder().rating(rating).rideId(rideId).build())));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        DriverDto rated = driverService.getDriverById(driver.getId());
+        BigDecimal expectedAverage = BigDecimal.valueOf(expectedSum)
+                .divide(BigDecimal.valueOf(RATINGS), 2, RoundingMode.HALF_UP);
+
+        assertEquals(RATINGS, rated.getTotalRides());
+        assertEquals(expectedAverage, rated.getRating());
+    }
+
+    @Test
+    void outOfRangeRatingIsRejectedByRequestValidation() {
+        assertFalse(validator.validate(RatingRequestDto.builder().rating(0).rideId(1L).build()).isEmpty());
+        assertFalse(validator.validate(RatingRequestDto.builder().rating(6).rideId(1L).build()).isEmpty());
+        assertTrue(validator.validate(RatingRequestDto.builder().rating(5).rideId(1L).build()).isEmpty());
+    }
+
+    @Test
+    void ratingAnUnknownDriverIsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> driverService.updateDriverRating(-1L,
+                RatingRequestDto.builder().rating(5).rideId(1L).build()));
+    }
+}
@@ -0,0 +1,75 @@
+package com.project.driverservice.service;
+
+import com.project.driverservice.dtos.LocationBatchRequestDto;
+import com.project.driverservice.dtos.LocationPingDto;
+import com.project.driverservice.dtos.NearbyDriverDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class LocationIngestionServiceTest {
+
+    private final DriverLocationIndex index = new DriverLocationIndex(0.05);
+    private final LocationIngestionService ingestionService =
+            new LocationIngestionService(mock(JdbcTemplate.class), index);
+
+    @Test
+    void reindexPrefersBufferedPingOverStoredPosition() {
+        // Pings for a driver outside the index (e.g. BUSY) are buffered but not indexed
+        ingest(ping(1L, 40.7580, -73.9855, 2_000));
+        assertEquals(0, index.size());
+
+        // Released with stale stored coordinates: the buffered ping wins
+        ingestionService.indexAtLatestPosition(1L, 40.6413, -73.7781);
+
+        NearbyDriverDto nearest = index.findNearest(40.7580, -73.9855, 1, 1).get(0);
+        assertEquals(1L, nearest.getDriverId());
+    }
+
+    @Test
+    void olderPingDoesNotMoveTheIndexBack() {
+        index.upsert(1L, 40.7128, -74.0060);
+
+        ingest(ping(1L, 40.7580, -73.9855, 2_000));
+        ingest(ping(1L, 40.6413, -73.7781, 1_000));
+
+        List<NearbyDriverDto> nearTimesSquare = index.findNearest(40.7580, -73.9855, 1, 1);
+        assertEquals(1, nearTimesSquare.size());
+    }
+
+    @Test
+    void futureDatedPingDoesNotBlockLaterPings() {
+        ingest(ping(1L, 40.6413, -73.7781, Long.MAX_VALUE));
+        ingest(ping(1L, 40.7580, -73.9855, System.currentTimeMillis()));
+
+        assertEquals(1, index.findNearest(40.7580, -73.9855, 1, 1).size());
+        assertEquals(0, index.findNearest(40.6413, -73.7781, 1, 1).size());
+    }
+
+    @Test
+    void flushedPingsFallBackToStoredPosition() {
+        ingest(ping(1L, 40.7580, -73.9855, 2_000));
+        ingestionService.flush();
+
+        ingestionService.indexAtLatestPosition(1L, 40.6413, -73.7781);
+
+        assertEquals(1, index.findNearest(40.6413, -73.7781, 1, 1).size());
+    }
+
+    private void ingest(LocationPingDto ping) {
+        ingestionService.ingest(LocationBatchRequestDto.builder().pings(List.of(ping)).build());
+    }
+
+    private LocationPingDto ping(Long driverId, double latitude, double longitude, long timestamp) {
+        return LocationPingDto.builder()
+                .driverId(driverId)
+                .latitude(latitude)
+                .longitude(longitude)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.project.driverservice.service;
+
+import com.project.driverservice.dtos.CreateDriverRequestDto;
+import com.project.driverservice.dtos.CreateLocationRequestDto;
+import com.project.driverservice.dtos.CreateVehicleRequestDto;
+import com.project.driverservice.dtos.DriverDto;
+import com.project.driverservice.exception.DriverAlreadyExistsException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates ACTIVE drivers with a vehicle and a location for service tests.
+ * Phone, email and plate are unique per call, so tests can share one database.
+ */
+final class TestDrivers {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong(System.nanoTime() % 1_000_000_000L);
+
+    private TestDrivers() {
+    }
+
+    static DriverDto create(DriverService driverService) {
+        try {
+            return driverService.createDriver(request());
+        } catch (DriverAlreadyExistsException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static CreateDriverRequestDto request() {
+        String suffix = String.format("%09d", SEQUENCE.incrementAndGet() % 1_000_000_000L);
+        return CreateDriverRequestDto.builder()
+                .name("Test Driver " + suffix)
+                .phone("9" + suffix)
+                .email("driver-" + suffix + "@example.com")
+                .vehicle(CreateVehicleRequestDto.builder()
+                        .model("Prius")
+                        .plateNumber("TD" + suffix)
+                        .year(2022)
+                        .build())
+                .location(CreateLocationRequestDto.builder()
+                        .latitude(new BigDecimal("40.71280000"))
+                        .longitude(new BigDecimal("-74.00600000"))
+                        .build())
+                .build();
+    }
+}
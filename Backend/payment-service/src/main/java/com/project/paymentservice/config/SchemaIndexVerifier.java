@@ -0,0 +1,53 @@
+package com.project.paymentservice.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fails startup when an index listed in {@code schema.index-verification.required-indexes}
+ * ({@code table.index} names) is missing or invalid, instead of letting queries fall back to sequential scans.
+ */
+@Component
+@ConditionalOnProperty(name = "schema.index-verification.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaIndexVerifier implements SmartInitializingSingleton {
+
+    private static final String VALID_INDEXES_SQL =
+            "SELECT t.relname || '.' || c.relname FROM pg_index i " +
+            "JOIN pg_class c ON c.oid = i.indexrelid " +
+            "JOIN pg_class t ON t.oid = i.indrelid " +
+            "JOIN pg_namespace n ON n.oid = t.relnamespace " +
+            "WHERE n.nspname = current_schema() AND i.indisvalid AND i.indisready";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${schema.index-verification.required-indexes}")
+    private List<String> requiredIndexes;
+
+    // Runs after Flyway has migrated and before the web server accepts traffic
+    @Override
+    public void afterSingletonsInstantiated() {
+        Set<String> validIndexes = new HashSet<>(jdbcTemplate.queryForList(VALID_INDEXES_SQL, String.class));
+
+        List<String> missing = requiredIndexes.stream()
+                .map(String::trim)
+                .filter(index -> !validIndexes.contains(index))
+                .sorted()
+                .toList();
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing or invalid indexes required by repository queries: " + missing);
+        }
+        log.info("Verified {} required indexes", requiredIndexes.size());
+    }
+}
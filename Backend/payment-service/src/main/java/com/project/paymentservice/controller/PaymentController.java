@@ -1,14 +1,23 @@
 package com.project.paymentservice.controller;
 
 import com.project.paymentservice.dtos.*;
+import com.project.paymentservice.enums.ExportFormat;
+import com.project.paymentservice.enums.PaymentStatus;
+import com.project.paymentservice.service.PaymentExportService;
 import com.project.paymentservice.service.PaymentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,6 +27,7 @@ import java.util.List;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final PaymentExportService paymentExportService;
 
     @PostMapping("/calculate-fare")
     public ResponseEntity<FareCalculationResponseDto> calculateFare(@Valid @RequestBody FareCalculationRequestDto fareRequest) {
@@ -28,6 +38,15 @@ public class PaymentController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/calculate-fare/batch")
+    public ResponseEntity<BatchFareCalculationResponseDto> calculateFares(
+            @Valid @RequestBody BatchFareCalculationRequestDto batchRequest) {
+        log.info("Batch fare calculation request received for {} routes", batchRequest.getRoutes().size());
+
+        BatchFareCalculationResponseDto response = paymentService.calculateFares(batchRequest);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/process")
     public ResponseEntity<PaymentResponseDto> processPayment(@Valid @RequestBody PaymentRequestDto paymentRequest) {
         log.info("Process payment request received for customer: {}, ride: {}",
@@ -37,6 +56,15 @@ public class PaymentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/process/async")
+    public ResponseEntity<PaymentResponseDto> processPaymentAsync(@Valid @RequestBody PaymentRequestDto paymentRequest) {
+        log.info("Async process payment request received for customer: {}, ride: {}",
+                paymentRequest.getCustomerId(), paymentRequest.getRideId());
+
+        PaymentResponseDto response = paymentService.processPaymentAsync(paymentRequest);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<List<PaymentDto>> getPaymentsByCustomerId(@PathVariable Long customerId) {
         log.info("Get payments request received for customer: {}", customerId);
@@ -45,6 +73,22 @@ public class PaymentController {
         return ResponseEntity.ok(payments);
     }
 
+    @GetMapping("/customer/{customerId}/summary")
+    public ResponseEntity<CustomerPaymentSummaryDto> getCustomerPaymentSummary(@PathVariable Long customerId) {
+        log.info("Get payment summary request received for customer: {}", customerId);
+
+        CustomerPaymentSummaryDto summary = paymentService.getCustomerPaymentSummary(customerId);
+        return ResponseEntity.ok(summary);
+    }
+
+    @PutMapping("/{paymentId}/refund")
+    public ResponseEntity<PaymentDto> refundPayment(@PathVariable Long paymentId) {
+        log.info("Refund request received for payment: {}", paymentId);
+
+        PaymentDto payment = paymentService.refundPayment(paymentId);
+        return ResponseEntity.ok(payment);
+    }
+
     @GetMapping("/ride/{rideId}")
     public ResponseEntity<PaymentDto> getPaymentByRideId(@PathVariable Long rideId) {
         log.info("Get payment request received for ride: {}", rideId);
@@ -53,6 +97,28 @@ public class PaymentController {
         return ResponseEntity.ok(payment);
     }
 
+    @GetMapping(value = "/ride/{rideId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPaymentStatus(@PathVariable Long rideId) {
+        log.info("Payment status stream request received for ride: {}", rideId);
+
+        return paymentService.streamPaymentStatus(rideId);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) PaymentStatus status) {
+        log.info("Export payments request received: format={}, from={}, to={}, status={}", format, from, to, status);
+
+        StreamingResponseBody body = outputStream -> paymentExportService.exportPayments(format, from, to, status, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"payments." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping
     public ResponseEntity<List<PaymentDto>> getAllPayments() {
         log.info("Get all payments request received");
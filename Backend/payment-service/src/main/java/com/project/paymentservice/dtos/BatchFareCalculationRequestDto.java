@@ -0,0 +1,25 @@
+package com.project.paymentservice.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchFareCalculationRequestDto {
+    @Valid
+    @NotEmpty(message = "At least one route is required")
+    @Size(max = 50, message = "At most 50 routes can be priced per request")
+    private List<FareRouteDto> routes;
+
+    // Empty or missing means every ride type
+    private List<String> rideTypes;
+}
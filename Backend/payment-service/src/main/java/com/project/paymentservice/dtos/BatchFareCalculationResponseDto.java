@@ -0,0 +1,16 @@
+package com.project.paymentservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchFareCalculationResponseDto {
+    private List<RouteFareEstimateDto> routes;
+}
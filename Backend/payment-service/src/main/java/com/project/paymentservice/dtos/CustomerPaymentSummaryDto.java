@@ -0,0 +1,22 @@
+package com.project.paymentservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerPaymentSummaryDto {
+    private Long customerId;
+    private Long completedPayments;
+    private BigDecimal totalAmount;
+    private Long refundedPayments;
+    private BigDecimal refundedAmount;
+    private LocalDateTime updatedDate;
+}
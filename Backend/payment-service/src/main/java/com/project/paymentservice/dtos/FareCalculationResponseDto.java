@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
 @Builder
@@ -18,4 +19,9 @@ public class FareCalculationResponseDto {
     private BigDecimal baseFare;
     private BigDecimal pricePerMile;
     private String rideType;
+    // Gazetteer position of the pickup, null when the location is unknown
+    private Double pickupLatitude;
+    private Double pickupLongitude;
+    private String quoteId;
+    private LocalDateTime quoteExpiresAt;
 }
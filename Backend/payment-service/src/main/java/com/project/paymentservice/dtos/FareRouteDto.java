@@ -0,0 +1,19 @@
+package com.project.paymentservice.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FareRouteDto {
+    @NotBlank(message = "Pickup location is required")
+    private String pickupLocation;
+
+    @NotBlank(message = "Destination location is required")
+    private String destinationLocation;
+}
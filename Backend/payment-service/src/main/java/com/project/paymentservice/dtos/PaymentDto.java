@@ -24,6 +24,8 @@ public class PaymentDto {
     private String transactionId;
     private String failureReason;
     private LocalDateTime processedAt;
+    private Integer retryCount;
+    private LocalDateTime nextRetryAt;
     private LocalDateTime createdDate;
     private LocalDateTime updatedDate;
 }
@@ -0,0 +1,20 @@
+package com.project.paymentservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteFareEstimateDto {
+    private String pickupLocation;
+    private String destinationLocation;
+    private BigDecimal distance;
+    private List<FareCalculationResponseDto> estimates;
+}
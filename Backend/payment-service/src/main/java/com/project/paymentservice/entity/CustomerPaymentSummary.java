@@ -0,0 +1,46 @@
+package com.project.paymentservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Per-customer payment totals, maintained in the same transaction that moves a payment
+ * to COMPLETED or REFUNDED. Completed figures match the COMPLETED scan queries in
+ * {@link com.project.paymentservice.repository.PaymentRepository}.
+ */
+@Entity
+@Table(name = "customer_payment_summary")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerPaymentSummary {
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "completed_count", nullable = false)
+    private Long completedCount;
+
+    @Column(name = "completed_amount", precision = 14, scale = 2, nullable = false)
+    private BigDecimal completedAmount;
+
+    @Column(name = "refunded_count", nullable = false)
+    private Long refundedCount;
+
+    @Column(name = "refunded_amount", precision = 14, scale = 2, nullable = false)
+    private BigDecimal refundedAmount;
+
+    @Column(name = "updated_date", nullable = false)
+    private LocalDateTime updatedDate;
+}
@@ -14,7 +14,13 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payments_ride_id", columnNames = "ride_id")
+}, indexes = {
+        @Index(name = "idx_payments_customer_created", columnList = "customer_id, created_date"),
+        @Index(name = "idx_payments_retry_due", columnList = "status, next_retry_at"),
+        @Index(name = "idx_payments_created_date", columnList = "created_date")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -56,6 +62,14 @@ public class Payment {
     @Column(name = "processed_at")
     private LocalDateTime processedAt;
 
+    @Column(name = "retry_count", nullable = false)
+    @Builder.Default
+    private Integer retryCount = 0;
+
+    // Set while a retry is scheduled, or while a retry holds the payment (lease); null otherwise
+    @Column(name = "next_retry_at")
+    private LocalDateTime nextRetryAt;
+
     @CreationTimestamp
     @Column(name = "created_date", updatable = false)
     private LocalDateTime createdDate;
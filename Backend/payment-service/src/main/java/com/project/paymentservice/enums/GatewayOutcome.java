@@ -0,0 +1,19 @@
+package com.project.paymentservice.enums;
+
+public enum GatewayOutcome {
+    APPROVED(false),
+    DECLINED(false),
+    ERROR(true),
+    TIMEOUT(true),
+    THROTTLED(true);
+
+    private final boolean retryable;
+
+    GatewayOutcome(boolean retryable) {
+        this.retryable = retryable;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
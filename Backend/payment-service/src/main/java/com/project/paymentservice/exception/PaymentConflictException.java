@@ -0,0 +1,11 @@
+package com.project.paymentservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class PaymentConflictException extends RuntimeException {
+    public PaymentConflictException(String s) {
+        super(s);
+    }
+}
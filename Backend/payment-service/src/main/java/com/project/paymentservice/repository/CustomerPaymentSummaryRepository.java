@@ -0,0 +1,42 @@
+package com.project.paymentservice.repository;
+
+import com.project.paymentservice.entity.CustomerPaymentSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Repository
+public interface CustomerPaymentSummaryRepository extends JpaRepository<CustomerPaymentSummary, Long> {
+
+    // Single-statement upserts: concurrent payments for one customer cannot lose increments
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "INSERT INTO customer_payment_summary " +
+            "(customer_id, completed_count, completed_amount, refunded_count, refunded_amount, updated_date) " +
+            "VALUES (:customerId, 1, :amount, 0, 0, :updatedDate) " +
+            "ON CONFLICT (customer_id) DO UPDATE SET " +
+            "completed_count = customer_payment_summary.completed_count + 1, " +
+            "completed_amount = customer_payment_summary.completed_amount + EXCLUDED.completed_amount, " +
+            "updated_date = EXCLUDED.updated_date", nativeQuery = true)
+    int recordCompleted(@Param("customerId") Long customerId,
+                        @Param("amount") BigDecimal amount,
+                        @Param("updatedDate") LocalDateTime updatedDate);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "INSERT INTO customer_payment_summary " +
+            "(customer_id, completed_count, completed_amount, refunded_count, refunded_amount, updated_date) " +
+            "VALUES (:customerId, -1, -CAST(:amount AS numeric), 1, :amount, :updatedDate) " +
+            "ON CONFLICT (customer_id) DO UPDATE SET " +
+            "completed_count = customer_payment_summary.completed_count - 1, " +
+            "completed_amount = customer_payment_summary.completed_amount - EXCLUDED.refunded_amount, " +
+            "refunded_count = customer_payment_summary.refunded_count + 1, " +
+            "refunded_amount = customer_payment_summary.refunded_amount + EXCLUDED.refunded_amount, " +
+            "updated_date = EXCLUDED.updated_date", nativeQuery = true)
+    int recordRefunded(@Param("customerId") Long customerId,
+                       @Param("amount") BigDecimal amount,
+                       @Param("updatedDate") LocalDateTime updatedDate);
+}
@@ -1,12 +1,16 @@
 package com.project.paymentservice.repository;
 
 import com.project.paymentservice.entity.Payment;
+import com.project.paymentservice.enums.PaymentMethod;
 import com.project.paymentservice.enums.PaymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +23,31 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     List<Payment> findByStatus(PaymentStatus status);
 
+    // One round trip either way: the new PROCESSING row, or the ride's existing payment. The no-op
+    // update on conflict is what makes RETURNING hand back the existing row
+    @Query(value = "INSERT INTO payments (customer_id, ride_id, amount, payment_method, status, transaction_id, " +
+            "retry_count, created_date, updated_date) " +
+            "VALUES (:customerId, :rideId, :amount, :paymentMethod, 'PROCESSING', :transactionId, 0, :now, :now) " +
+            "ON CONFLICT (ride_id) DO UPDATE SET ride_id = EXCLUDED.ride_id RETURNING *", nativeQuery = true)
+    Payment insertOrGetByRideId(@Param("customerId") Long customerId,
+                                @Param("rideId") Long rideId,
+                                @Param("amount") BigDecimal amount,
+                                @Param("paymentMethod") String paymentMethod,
+                                @Param("transactionId") String transactionId,
+                                @Param("now") LocalDateTime now);
+
+    // A payment that failed for good starts a new attempt with its own transaction id
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = com.project.paymentservice.enums.PaymentStatus.PROCESSING, " +
+            "p.amount = :amount, p.paymentMethod = :paymentMethod, p.transactionId = :transactionId, " +
+            "p.failureReason = NULL, p.paymentGatewayResponse = NULL, p.retryCount = 0, p.updatedDate = :updatedDate " +
+            "WHERE p.id = :id AND p.status = com.project.paymentservice.enums.PaymentStatus.FAILED AND p.nextRetryAt IS NULL")
+    int restartFailedPayment(@Param("id") Long id,
+                             @Param("amount") BigDecimal amount,
+                             @Param("paymentMethod") PaymentMethod paymentMethod,
+                             @Param("transactionId") String transactionId,
+                             @Param("updatedDate") LocalDateTime updatedDate);
+
     Optional<Payment> findByTransactionId(String transactionId);
 
     @Query("SELECT p FROM Payment p WHERE p.customerId = :customerId AND p.status = :status ORDER BY p.createdDate DESC")
@@ -29,4 +58,41 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.customerId = :customerId AND p.status = 'COMPLETED'")
     java.math.BigDecimal getTotalAmountByCustomer(@Param("customerId") Long customerId);
+
+    // Due retries, plus retries whose lease ran out because the instance holding them died
+    @Query(value = "SELECT * FROM payments WHERE status IN ('FAILED', 'PROCESSING') AND next_retry_at <= :now " +
+            "ORDER BY next_retry_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Payment> lockDueRetries(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    long countByStatusAndNextRetryAtIsNotNull(PaymentStatus status);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = :newStatus, p.updatedDate = :updatedDate " +
+            "WHERE p.id = :id AND p.status = :expectedStatus")
+    int compareAndSetStatus(@Param("id") Long id,
+                            @Param("expectedStatus") PaymentStatus expectedStatus,
+                            @Param("newStatus") PaymentStatus newStatus,
+                            @Param("updatedDate") LocalDateTime updatedDate);
+
+    // Outcome updates skip payments that are already settled, so a late or duplicate gateway answer
+    // neither completes a payment twice nor overwrites a completed, refunded or cancelled one
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = com.project.paymentservice.enums.PaymentStatus.COMPLETED, " +
+            "p.processedAt = :processedAt, p.paymentGatewayResponse = :gatewayResponse, p.nextRetryAt = NULL, " +
+            "p.updatedDate = :processedAt " +
+            "WHERE p.id = :id AND p.status NOT IN (com.project.paymentservice.enums.PaymentStatus.COMPLETED, " +
+            "com.project.paymentservice.enums.PaymentStatus.REFUNDED, com.project.paymentservice.enums.PaymentStatus.CANCELLED)")
+    int markCompleted(@Param("id") Long id,
+                      @Param("gatewayResponse") String gatewayResponse,
+                      @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = com.project.paymentservice.enums.PaymentStatus.FAILED, " +
+            "p.failureReason = :failureReason, p.nextRetryAt = :nextRetryAt, p.updatedDate = :updatedDate " +
+            "WHERE p.id = :id AND p.status NOT IN (com.project.paymentservice.enums.PaymentStatus.COMPLETED, " +
+            "com.project.paymentservice.enums.PaymentStatus.REFUNDED, com.project.paymentservice.enums.PaymentStatus.CANCELLED)")
+    int markFailed(@Param("id") Long id,
+                   @Param("failureReason") String failureReason,
+                   @Param("nextRetryAt") LocalDateTime nextRetryAt,
+                   @Param("updatedDate") LocalDateTime updatedDate);
 }
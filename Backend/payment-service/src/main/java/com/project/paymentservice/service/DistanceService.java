@@ -0,0 +1,101 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.service.GazetteerService.GeoPoint;
+import com.project.paymentservice.utils.GeoUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Deterministic route distance: great-circle distance between gazetteer coordinates
+ * scaled by a road factor. Unknown locations get a stable pseudo-distance derived from
+ * their names, so the same route is always priced the same.
+ */
+@Component
+public class DistanceService {
+
+    private static final double KM_PER_MILE = 1.609344;
+
+    // Range of the pseudo-distance for locations missing from the gazetteer, in hundredths of a mile
+    private static final long FALLBACK_MIN_HUNDREDTHS = 200;
+    private static final long FALLBACK_RANGE_HUNDREDTHS = 1500;
+
+    private final GazetteerService gazetteerService;
+    private final double roadFactor;
+    private final long minimumHundredths;
+    private final int maxCachedRoutes;
+    private final Map<String, Long> routes;
+
+    public DistanceService(GazetteerService gazetteerService,
+                           @Value("${fare.distance.road-factor:1.3}") double roadFactor,
+                           @Value("${fare.distance.minimum-miles:1.0}") double minimumMiles,
+                           @Value("${fare.distance.cache.max-size:10000}") int maxCachedRoutes) {
+        this.gazetteerService = gazetteerService;
+        this.roadFactor = roadFactor;
+        this.minimumHundredths = Math.round(minimumMiles * 100);
+        this.maxCachedRoutes = maxCachedRoutes;
+        this.routes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > DistanceService.this.maxCachedRoutes;
+            }
+        };
+    }
+
+    /**
+     * @return road distance between the two locations in hundredths of a mile
+     */
+    public long distanceHundredths(String pickupLocation, String destinationLocation) {
+        String pickup = GazetteerService.normalize(pickupLocation);
+        String destination = GazetteerService.normalize(destinationLocation);
+        String routeKey = pickup + '\n' + destination;
+
+        synchronized (routes) {
+            Long cached = routes.get(routeKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long distance = Math.max(computeHundredths(pickup, destination), minimumHundredths);
+        synchronized (routes) {
+            routes.put(routeKey, distance);
+        }
+        return distance;
+    }
+
+    private long computeHundredths(String pickup, String destination) {
+        Optional<GeoPoint> from = gazetteerService.resolve(pickup);
+        Optional<GeoPoint> to = gazetteerService.resolve(destination);
+
+        if (from.isPresent() && to.isPresent()) {
+            double km = GeoUtils.haversineKm(from.get().latitude(), from.get().longitude(),
+                    to.get().latitude(), to.get().longitude());
+            return Math.round(km / KM_PER_MILE * roadFactor * 100);
+        }
+
+        if (pickup.equals(destination)) {
+            return 0;
+        }
+
+        // Order the names so A -> B and B -> A get the same distance
+        String route = pickup.compareTo(destination) <= 0
+                ? pickup + '\n' + destination
+                : destination + '\n' + pickup;
+        return FALLBACK_MIN_HUNDREDTHS + Math.floorMod(fnv1a(route), FALLBACK_RANGE_HUNDREDTHS + 1);
+    }
+
+    // String.hashCode is stable too, but FNV-1a spreads short, similar names better
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
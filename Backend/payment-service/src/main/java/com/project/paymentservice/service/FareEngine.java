@@ -0,0 +1,65 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.enums.RideType;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Fare arithmetic on whole cents and hundredths of a mile.
+ * Rates are read from {@link RideType} once into primitive tables; {@link BigDecimal}
+ * is only created when a result is handed to a DTO.
+ */
+@Component
+public class FareEngine {
+
+    private static final long HUNDREDTHS_PER_MILE = 100;
+
+    // Midpoint of the 3-5 minutes per mile estimate, in tenths of a minute
+    private static final long DURATION_TENTHS_PER_MILE = 35;
+    // Fixed allowance for pickup and drop-off; keeps the estimate reproducible for cached quotes
+    private static final int DURATION_OVERHEAD_MINUTES = 4;
+
+    private final long[] baseFareCents;
+    private final long[] pricePerMileCents;
+
+    public FareEngine() {
+        RideType[] rideTypes = RideType.values();
+        baseFareCents = new long[rideTypes.length];
+        pricePerMileCents = new long[rideTypes.length];
+        for (RideType rideType : rideTypes) {
+            baseFareCents[rideType.ordinal()] = toCents(rideType.getBaseFare());
+            pricePerMileCents[rideType.ordinal()] = toCents(rideType.getPricePerMile());
+        }
+    }
+
+    /**
+     * Base fare plus distance times the per-mile rate, rounded half-up to the cent.
+     */
+    public long fareCents(RideType rideType, long distanceHundredths) {
+        long distanceCharge = (distanceHundredths * pricePerMileCents[rideType.ordinal()]
+                + HUNDREDTHS_PER_MILE / 2) / HUNDREDTHS_PER_MILE;
+        return baseFareCents[rideType.ordinal()] + distanceCharge;
+    }
+
+    public int estimatedDurationMinutes(long distanceHundredths) {
+        long minutes = distanceHundredths * DURATION_TENTHS_PER_MILE / (HUNDREDTHS_PER_MILE * 10);
+        return (int) minutes + DURATION_OVERHEAD_MINUTES;
+    }
+
+    public long baseFareCents(RideType rideType) {
+        return baseFareCents[rideType.ordinal()];
+    }
+
+    public long pricePerMileCents(RideType rideType) {
+        return pricePerMileCents[rideType.ordinal()];
+    }
+
+    public static BigDecimal toDecimal(long hundredths) {
+        return BigDecimal.valueOf(hundredths, 2);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+}
@@ -0,0 +1,118 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.dtos.FareCalculationResponseDto;
+import com.project.paymentservice.enums.RideType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU of recent fare quotes keyed by (pickup, destination, ride type).
+ * An entry lives exactly as long as the quote id it carries, so a cached quote is always bookable.
+ * Entries are immutable; every caller gets its own response DTO.
+ */
+@Component
+public class FareQuoteCache {
+
+    private final int maxSize;
+    private final Map<QuoteKey, CachedQuote> quotes;
+    private final Counter hits;
+    private final Counter misses;
+
+    public FareQuoteCache(@Value("${fare.quote.cache.max-size:10000}") int maxSize, MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.quotes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<QuoteKey, CachedQuote> eldest) {
+                return size() > FareQuoteCache.this.maxSize;
+            }
+        };
+        this.hits = Counter.builder("fare.quote.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("fare.quote.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("fare.quote.cache.size", this, FareQuoteCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached quote for the route, or computes and caches a new one.
+     * The loader runs outside the lock, so concurrent misses for one route may both compute.
+     */
+    public FareCalculationResponseDto get(String pickupLocation, String destinationLocation, RideType rideType,
+                                          Supplier<CachedQuote> loader) {
+        QuoteKey key = new QuoteKey(normalize(pickupLocation), normalize(destinationLocation), rideType);
+        long now = System.currentTimeMillis();
+
+        synchronized (quotes) {
+            CachedQuote cached = quotes.get(key);
+            if (cached != null && cached.expiresAtMillis() > now) {
+                hits.increment();
+                return cached.toResponseDto();
+            }
+            if (cached != null) {
+                quotes.remove(key);
+            }
+        }
+
+        misses.increment();
+        CachedQuote loaded = loader.get();
+        synchronized (quotes) {
+            quotes.put(key, loaded);
+        }
+        return loaded.toResponseDto();
+    }
+
+    public int size() {
+        synchronized (quotes) {
+            return quotes.size();
+        }
+    }
+
+    private static String normalize(String location) {
+        return location == null ? "" : location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public record CachedQuote(BigDecimal estimatedFare,
+                              BigDecimal distance,
+                              Integer estimatedDuration,
+                              BigDecimal baseFare,
+                              BigDecimal pricePerMile,
+                              String rideType,
+                              Double pickupLatitude,
+                              Double pickupLongitude,
+                              String quoteId,
+                              LocalDateTime quoteExpiresAt,
+                              long expiresAtMillis) {
+
+        public CachedQuote(FareCalculationResponseDto quote, long expiresAtMillis) {
+            this(quote.getEstimatedFare(), quote.getDistance(), quote.getEstimatedDuration(), quote.getBaseFare(),
+                    quote.getPricePerMile(), quote.getRideType(), quote.getPickupLatitude(), quote.getPickupLongitude(),
+                    quote.getQuoteId(), quote.getQuoteExpiresAt(), expiresAtMillis);
+        }
+
+        FareCalculationResponseDto toResponseDto() {
+            return FareCalculationResponseDto.builder()
+                    .estimatedFare(estimatedFare)
+                    .distance(distance)
+                    .estimatedDuration(estimatedDuration)
+                    .baseFare(baseFare)
+                    .pricePerMile(pricePerMile)
+                    .rideType(rideType)
+                    .pickupLatitude(pickupLatitude)
+                    .pickupLongitude(pickupLongitude)
+                    .quoteId(quoteId)
+                    .quoteExpiresAt(quoteExpiresAt)
+                    .build();
+        }
+    }
+
+    private record QuoteKey(String pickupLocation, String destinationLocation, RideType rideType) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.enums.GatewayOutcome;
+
+public record GatewayResult(GatewayOutcome outcome, String message) {
+
+    public boolean approved() {
+        return outcome == GatewayOutcome.APPROVED;
+    }
+
+    public boolean retryable() {
+        return outcome.isRetryable();
+    }
+}
@@ -0,0 +1,148 @@
+package com.project.paymentservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves location names to coordinates from a local gazetteer.
+ * The file given by {@code fare.gazetteer.path} is memory-mapped and indexed once at startup;
+ * without it the bundled {@code gazetteer.tsv} is used.
+ * Each line is {@code name[|alias...]<TAB>latitude<TAB>longitude}; blank lines and {@code #} comments are skipped.
+ */
+@Component
+@Slf4j
+public class GazetteerService {
+
+    private static final String DEFAULT_GAZETTEER = "gazetteer.tsv";
+
+    private final Map<String, GeoPoint> places = new HashMap<>();
+
+    public GazetteerService(@Value("${fare.gazetteer.path:}") String gazetteerPath) {
+        try {
+            ByteBuffer data = gazetteerPath.isBlank() ? readDefault() : map(Path.of(gazetteerPath));
+            index(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load gazetteer " + gazetteerPath, e);
+        }
+
+        log.info("Gazetteer loaded with {} names", places.size());
+    }
+
+    /**
+     * Looks up the full name first, then the part before the first comma ("Times Square, Manhattan, NY").
+     */
+    public Optional<GeoPoint> resolve(String location) {
+        String name = normalize(location);
+        GeoPoint point = places.get(name);
+        if (point == null) {
+            int comma = name.indexOf(',');
+            if (comma > 0) {
+                point = places.get(name.substring(0, comma).trim());
+            }
+        }
+        return Optional.ofNullable(point);
+    }
+
+    public int size() {
+        return places.size();
+    }
+
+    /**
+     * Lower-cases, trims and collapses runs of whitespace so equivalent spellings share one key.
+     */
+    public static String normalize(String location) {
+        if (location == null) {
+            return "";
+        }
+
+        StringBuilder normalized = new StringBuilder(location.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < location.length(); i++) {
+            char c = location.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    private void index(ByteBuffer data) {
+        int lineNumber = 0;
+        int start = data.position();
+        int limit = data.limit();
+
+        while (start < limit) {
+            int end = start;
+            while (end < limit && data.get(end) != '\n') {
+                end++;
+            }
+            lineNumber++;
+
+            String line = StandardCharsets.UTF_8.decode(data.slice(start, end - start)).toString().strip();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                indexLine(line, lineNumber);
+            }
+            start = end + 1;
+        }
+    }
+
+    private void indexLine(String line, int lineNumber) {
+        String[] columns = line.split("\t");
+        if (columns.length != 3) {
+            log.warn("Skipping malformed gazetteer line {}: expected 3 tab-separated columns", lineNumber);
+            return;
+        }
+
+        GeoPoint point;
+        try {
+            point = new GeoPoint(Double.parseDouble(columns[1].trim()), Double.parseDouble(columns[2].trim()));
+        } catch (NumberFormatException e) {
+            log.warn("Skipping gazetteer line {} with invalid coordinates", lineNumber);
+            return;
+        }
+
+        for (String name : columns[0].split("\\|")) {
+            String key = normalize(name);
+            if (!key.isEmpty()) {
+                places.putIfAbsent(key, point);
+            }
+        }
+    }
+
+    private static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static ByteBuffer readDefault() throws IOException {
+        // Classpath resources may live inside a jar, which cannot be mapped
+        try (InputStream in = new ClassPathResource(DEFAULT_GAZETTEER).getInputStream()) {
+            return ByteBuffer.wrap(in.readAllBytes());
+        }
+    }
+
+    public record GeoPoint(double latitude, double longitude) {
+    }
+}
@@ -0,0 +1,175 @@
+package com.project.paymentservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.paymentservice.dtos.PaymentDto;
+import com.project.paymentservice.enums.ExportFormat;
+import com.project.paymentservice.enums.PaymentMethod;
+import com.project.paymentservice.enums.PaymentStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Streams payments straight from a forward-only JDBC cursor to the response, one row at a time.
+ * Postgres only honours the fetch size inside a transaction, so the query runs in a read-only one.
+ */
+@Service
+@Slf4j
+public class PaymentExportService {
+
+    private static final String CSV_HEADER = "id,customer_id,ride_id,amount,payment_method,status,transaction_id," +
+            "failure_reason,processed_at,retry_count,created_date,updated_date";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public PaymentExportService(DataSource dataSource,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${payment.export.fetch-size:500}") int fetchSize) {
+        JdbcTemplate exportTemplate = new JdbcTemplate(dataSource);
+        exportTemplate.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(exportTemplate);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void exportPayments(ExportFormat format, LocalDateTime from, LocalDateTime to, PaymentStatus status,
+                               OutputStream outputStream) throws IOException {
+        StringBuilder sql = new StringBuilder("SELECT id, customer_id, ride_id, amount, payment_method, status, " +
+                "transaction_id, failure_reason, processed_at, retry_count, created_date, updated_date " +
+                "FROM payments WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (from != null) {
+            sql.append(" AND created_date >= :from");
+            params.addValue("from", from);
+        }
+        if (to != null) {
+            sql.append(" AND created_date < :to");
+            params.addValue("to", to);
+        }
+        if (status != null) {
+            sql.append(" AND status = :status");
+            params.addValue("status", status.name());
+        }
+        sql.append(" ORDER BY id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long[] rows = {0};
+
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            readOnlyTransaction.executeWithoutResult(tx -> jdbcTemplate.query(sql.toString(), params, (RowCallbackHandler) rs -> {
+                try {
+                    PaymentDto payment = mapRow(rs);
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(writer, payment);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(payment));
+                        writer.write('\n');
+                    }
+                    rows[0]++;
+                } catch (IOException e) {
+                    // Client went away; surfacing this aborts the query and closes the cursor
+                    throw new UncheckedIOException(e);
+                }
+            }));
+
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            meterRegistry.counter("payment.export.rows", "format", format.name().toLowerCase()).increment(rows[0]);
+        }
+
+        log.info("Exported {} payments as {}", rows[0], format);
+    }
+
+    private PaymentDto mapRow(ResultSet rs) throws SQLException {
+        return PaymentDto.builder()
+                .id(rs.getLong("id"))
+                .customerId(rs.getLong("customer_id"))
+                .rideId(rs.getLong("ride_id"))
+                .amount(rs.getBigDecimal("amount"))
+                .paymentMethod(PaymentMethod.valueOf(rs.getString("payment_method")))
+                .status(PaymentStatus.valueOf(rs.getString("status")))
+                .transactionId(rs.getString("transaction_id"))
+                .failureReason(rs.getString("failure_reason"))
+                .processedAt(toLocalDateTime(rs.getTimestamp("processed_at")))
+                .retryCount(rs.getInt("retry_count"))
+                .createdDate(toLocalDateTime(rs.getTimestamp("created_date")))
+                .updatedDate(toLocalDateTime(rs.getTimestamp("updated_date")))
+                .build();
+    }
+
+    private void writeCsv(Writer writer, PaymentDto payment) throws IOException {
+        writer.write(String.valueOf(payment.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(payment.getCustomerId()));
+        writer.write(',');
+        writer.write(String.valueOf(payment.getRideId()));
+        writer.write(',');
+        writer.write(payment.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(payment.getPaymentMethod().name());
+        writer.write(',');
+        writer.write(payment.getStatus().name());
+        writer.write(',');
+        writer.write(csvField(payment.getTransactionId()));
+        writer.write(',');
+        writer.write(csvField(payment.getFailureReason()));
+        writer.write(',');
+        writer.write(csvField(payment.getProcessedAt()));
+        writer.write(',');
+        writer.write(String.valueOf(payment.getRetryCount()));
+        writer.write(',');
+        writer.write(csvField(payment.getCreatedDate()));
+        writer.write(',');
+        writer.write(csvField(payment.getUpdatedDate()));
+        writer.write('\n');
+    }
+
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
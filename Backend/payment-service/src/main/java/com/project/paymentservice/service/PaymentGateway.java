@@ -0,0 +1,15 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.dtos.PaymentRequestDto;
+
+public interface PaymentGateway {
+
+    /**
+     * Charges the payment with the processor and blocks until it answers, times out or refuses the call.
+     * Implementations report failures through the result rather than by throwing.
+     *
+     * @param idempotencyKey stable for every attempt at the same payment, so a retry after a timeout
+     *                       returns the original outcome instead of charging the card twice
+     */
+    GatewayResult charge(PaymentRequestDto paymentRequest, String idempotencyKey);
+}
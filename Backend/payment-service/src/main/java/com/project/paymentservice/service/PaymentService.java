@@ -2,23 +2,44 @@ package com.project.paymentservice.service;
 
 import com.project.paymentservice.dtos.*;
 import com.project.paymentservice.entity.Payment;
+import com.project.paymentservice.enums.GatewayOutcome;
 import com.project.paymentservice.enums.PaymentStatus;
 import com.project.paymentservice.enums.RideType;
+import com.project.paymentservice.exception.PaymentConflictException;
 import com.project.paymentservice.exception.PaymentProcessingException;
 import com.project.paymentservice.exception.ResourceNotFoundException;
+import com.project.paymentservice.repository.CustomerPaymentSummaryRepository;
 import com.project.paymentservice.repository.PaymentRepository;
+import com.project.paymentservice.service.FareQuoteCache.CachedQuote;
+import com.project.paymentservice.utils.FareQuoteSigner;
 import com.project.paymentservice.utils.PaymentMapper;
+import com.project.paymentservice.utils.TransactionIdGenerator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
-import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
@@ -27,102 +48,219 @@ import java.util.UUID;
 public class PaymentService {
 
     private final PaymentRepository paymentRepository;
+    private final CustomerPaymentSummaryRepository customerPaymentSummaryRepository;
     private final PaymentMapper paymentMapper;
+    private final PaymentStatusNotifier paymentStatusNotifier;
+    private final ThreadPoolTaskExecutor paymentGatewayExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final FareQuoteCache fareQuoteCache;
+    private final FareQuoteSigner fareQuoteSigner;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final FareEngine fareEngine;
+    private final DistanceService distanceService;
+    private final GazetteerService gazetteerService;
+    private final PaymentGateway paymentGateway;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong retryQueueDepth = new AtomicLong();
+    private Semaphore retryPermits;
+
+    @Value("${fare.quote.ttl-seconds:120}")
+    private long quoteTtlSeconds;
+
+    @Value("${payment.retry.batch-size:20}")
+    private int retryBatchSize;
+
+    @Value("${payment.retry.max-attempts:5}")
+    private int maxRetryAttempts;
+
+    @Value("${payment.retry.initial-backoff-ms:2000}")
+    private long initialRetryBackoffMs;
+
+    @Value("${payment.retry.max-backoff-ms:300000}")
+    private long maxRetryBackoffMs;
+
+    @Value("${payment.retry.max-concurrency:4}")
+    private int maxConcurrentRetries;
+
+    @Value("${payment.retry.lease-ms:300000}")
+    private long retryLeaseMs;
+
+    @PostConstruct
+    void registerRetryMetrics() {
+        retryPermits = new Semaphore(maxConcurrentRetries);
+        Gauge.builder("payment.retry.queue.depth", retryQueueDepth, AtomicLong::get)
+                .description("Failed payments waiting for a scheduled retry")
+                .register(meterRegistry);
+    }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public FareCalculationResponseDto calculateFare(FareCalculationRequestDto fareRequest) {
         log.info("Calculating fare for ride from {} to {} with type: {}",
                 fareRequest.getPickupLocation(), fareRequest.getDestinationLocation(), fareRequest.getRideType());
 
-        try {
-            RideType rideType = RideType.valueOf(fareRequest.getRideType().toUpperCase());
+        RideType rideType = parseRideType(fareRequest.getRideType());
+        String pickupLocation = fareRequest.getPickupLocation();
+        String destinationLocation = fareRequest.getDestinationLocation();
 
-            // Simulate distance calculation (in real app, use maps API)
-            BigDecimal distance = calculateDistance(fareRequest.getPickupLocation(), fareRequest.getDestinationLocation());
+        return fareQuoteCache.get(pickupLocation, destinationLocation, rideType,
+                () -> quoteFare(pickupLocation, destinationLocation, rideType,
+                        distanceService.distanceHundredths(pickupLocation, destinationLocation)));
+    }
 
-            // Calculate fare
-            BigDecimal baseFare = rideType.getBaseFare();
-            BigDecimal pricePerMile = rideType.getPricePerMile();
-            BigDecimal estimatedFare = baseFare.add(distance.multiply(pricePerMile));
-            estimatedFare = estimatedFare.setScale(2, RoundingMode.HALF_UP);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchFareCalculationResponseDto calculateFares(BatchFareCalculationRequestDto batchRequest) {
+        List<RideType> rideTypes = batchRequest.getRideTypes() == null || batchRequest.getRideTypes().isEmpty()
+                ? List.of(RideType.values())
+                : batchRequest.getRideTypes().stream().map(this::parseRideType).distinct().toList();
 
-            // Estimate duration (assuming 3-5 minutes per mile)
-            int estimatedDuration = distance.multiply(BigDecimal.valueOf(3.5)).intValue() + new Random().nextInt(10);
+        log.info("Calculating fares for {} routes and {} ride types", batchRequest.getRoutes().size(), rideTypes.size());
 
-            FareCalculationResponseDto response = FareCalculationResponseDto.builder()
-                    .estimatedFare(estimatedFare)
-                    .distance(distance)
-                    .estimatedDuration(estimatedDuration)
-                    .baseFare(baseFare)
-                    .pricePerMile(pricePerMile)
-                    .rideType(fareRequest.getRideType())
-                    .build();
+        List<RouteFareEstimateDto> routeEstimates = new ArrayList<>(batchRequest.getRoutes().size());
+        for (FareRouteDto route : batchRequest.getRoutes()) {
+            String pickupLocation = route.getPickupLocation();
+            String destinationLocation = route.getDestinationLocation();
 
-            log.info("Fare calculated successfully: ${} for {} miles", estimatedFare, distance);
+            // One distance lookup per route, shared by every ride type
+            long distanceHundredths = distanceService.distanceHundredths(pickupLocation, destinationLocation);
 
-            return response;
+            List<FareCalculationResponseDto> estimates = new ArrayList<>(rideTypes.size());
+            for (RideType rideType : rideTypes) {
+                estimates.add(fareQuoteCache.get(pickupLocation, destinationLocation, rideType,
+                        () -> quoteFare(pickupLocation, destinationLocation, rideType, distanceHundredths)));
+            }
 
-        } catch (IllegalArgumentException e) {
-            throw new PaymentProcessingException("Invalid ride type: " + fareRequest.getRideType());
+            routeEstimates.add(RouteFareEstimateDto.builder()
+                    .pickupLocation(pickupLocation)
+                    .destinationLocation(destinationLocation)
+                    .distance(FareEngine.toDecimal(distanceHundredths))
+                    .estimates(estimates)
+                    .build());
         }
+
+        return BatchFareCalculationResponseDto.builder()
+                .routes(routeEstimates)
+                .build();
     }
 
+    // The gateway call runs outside any transaction; only the insert and the outcome update are transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PaymentResponseDto processPayment(PaymentRequestDto paymentRequest) {
         log.info("Processing payment for customer: {}, ride: {}, amount: ${}",
                 paymentRequest.getCustomerId(), paymentRequest.getRideId(), paymentRequest.getAmount());
 
-        // Check if payment already exists for this ride
-        if (paymentRepository.findByRideId(paymentRequest.getRideId()).isPresent()) {
-            throw new PaymentProcessingException("Payment already exists for this ride");
+        PaymentAttempt attempt = startPayment(paymentRequest);
+        if (!attempt.started()) {
+            return existingPaymentResponse(attempt.payment());
         }
 
-        // Create payment record
-        Payment payment = Payment.builder()
-                .customerId(paymentRequest.getCustomerId())
-                .rideId(paymentRequest.getRideId())
-                .amount(paymentRequest.getAmount())
-                .paymentMethod(paymentRequest.getPaymentMethod())
-                .status(PaymentStatus.PROCESSING)
-                .transactionId(generateTransactionId())
-                .build();
+        GatewayResult gatewayResult;
+        try {
+            gatewayResult = chargeGateway(paymentRequest, attempt.payment().getTransactionId());
+        } catch (Exception e) {
+            log.error("Payment processing failed for ride: {}", paymentRequest.getRideId(), e);
+            gatewayResult = new GatewayResult(GatewayOutcome.ERROR, e.getMessage());
+        }
 
-        Payment savedPayment = paymentRepository.save(payment);
+        Payment processedPayment = recordGatewayOutcome(attempt.payment().getId(), gatewayResult);
 
-        try {
-            // Simulate payment processing
-            boolean paymentSuccessful = processPaymentWithGateway(paymentRequest);
+        if (!gatewayResult.approved()) {
+            throw new PaymentProcessingException("Payment processing failed: " + gatewayResult.message());
+        }
 
-            if (paymentSuccessful) {
-                savedPayment.setStatus(PaymentStatus.COMPLETED);
-                savedPayment.setProcessedAt(LocalDateTime.now());
-                savedPayment.setPaymentGatewayResponse("Payment processed successfully");
+        log.info("Payment processed successfully for ride: {}", paymentRequest.getRideId());
 
-                paymentRepository.save(savedPayment);
+        return paymentMapper.toResponseDto(processedPayment, "Payment processed successfully");
+    }
 
-                log.info("Payment processed successfully for ride: {}", paymentRequest.getRideId());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PaymentResponseDto processPaymentAsync(PaymentRequestDto paymentRequest) {
+        log.info("Accepting async payment for customer: {}, ride: {}, amount: ${}",
+                paymentRequest.getCustomerId(), paymentRequest.getRideId(), paymentRequest.getAmount());
 
-                return paymentMapper.toResponseDto(savedPayment, "Payment processed successfully");
-            } else {
-                savedPayment.setStatus(PaymentStatus.FAILED);
-                savedPayment.setFailureReason("Payment declined by gateway");
+        PaymentAttempt attempt = startPayment(paymentRequest);
+        if (!attempt.started()) {
+            return existingPaymentResponse(attempt.payment());
+        }
 
-                paymentRepository.save(savedPayment);
+        Payment savedPayment = attempt.payment();
+        try {
+            paymentGatewayExecutor.execute(() -> completePaymentWithGateway(savedPayment.getId(),
+                    savedPayment.getTransactionId(), paymentRequest));
+        } catch (RejectedExecutionException e) {
+            recordGatewayOutcome(savedPayment.getId(), new GatewayResult(GatewayOutcome.THROTTLED, "Payment queue is full"));
+            throw new PaymentProcessingException("Payment queue is full, please retry later");
+        }
 
-                throw new PaymentProcessingException("Payment was declined");
-            }
+        return paymentMapper.toResponseDto(savedPayment, "Payment is being processed");
+    }
 
-        } catch (Exception e) {
-            savedPayment.setStatus(PaymentStatus.FAILED);
-            savedPayment.setFailureReason(e.getMessage());
+    /**
+     * Picks up retryable FAILED payments whose backoff has elapsed and charges them again.
+     * Rows are claimed with SKIP LOCKED so several instances can poll without double-charging,
+     * and a semaphore caps how many retries hit the gateway at once. The poll claims no more rows
+     * than there are free permits, so the scheduler thread never waits; the rest stay due for the next poll.
+     */
+    @Scheduled(fixedDelayString = "${payment.retry.poll-interval-ms:5000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void retryFailedPayments() {
+        retryQueueDepth.set(paymentRepository.countByStatusAndNextRetryAtIsNotNull(PaymentStatus.FAILED));
+
+        int freePermits = retryPermits.availablePermits();
+        if (freePermits == 0) {
+            return;
+        }
 
-            paymentRepository.save(savedPayment);
+        LocalDateTime now = LocalDateTime.now();
+        List<Payment> claimed = transactionTemplate.execute(status -> {
+            List<Payment> due = paymentRepository.lockDueRetries(now, Math.min(retryBatchSize, freePermits));
+            for (Payment payment : due) {
+                payment.setStatus(PaymentStatus.PROCESSING);
+                payment.setRetryCount(payment.getRetryCount() + 1);
+                // Lease: if this instance dies mid-retry, the payment becomes due again
+                payment.setNextRetryAt(now.plus(Duration.ofMillis(retryLeaseMs)));
+            }
+            return paymentRepository.saveAll(due);
+        });
+        if (claimed.isEmpty()) {
+            return;
+        }
 
-            log.error("Payment processing failed for ride: {}", paymentRequest.getRideId(), e);
+        log.info("Retrying {} failed payments", claimed.size());
 
-            throw new PaymentProcessingException("Payment processing failed: " + e.getMessage());
+        for (Payment payment : claimed) {
+            // Only this poller takes permits, and it claimed no more rows than were free
+            if (!retryPermits.tryAcquire()) {
+                recordGatewayOutcome(payment.getId(), new GatewayResult(GatewayOutcome.THROTTLED, "Retry capacity is exhausted"));
+                continue;
+            }
+
+            try {
+                paymentGatewayExecutor.execute(() -> {
+                    try {
+                        retryPayment(payment);
+                    } finally {
+                        retryPermits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                retryPermits.release();
+                recordGatewayOutcome(payment.getId(), new GatewayResult(GatewayOutcome.THROTTLED, "Payment queue is full"));
+            }
         }
     }
 
+    @Transactional(readOnly = true)
+    public SseEmitter streamPaymentStatus(Long rideId) {
+        log.info("Opening payment status stream for ride: {}", rideId);
+
+        SseEmitter emitter = paymentStatusNotifier.subscribe(rideId);
+        paymentRepository.findByRideId(rideId)
+                .ifPresent(payment -> paymentStatusNotifier.send(emitter, paymentMapper.toDto(payment)));
+
+        return emitter;
+    }
+
     @Transactional(readOnly = true)
     public List<PaymentDto> getPaymentsByCustomerId(Long customerId) {
         log.info("Fetching payments for customer: {}", customerId);
@@ -131,6 +269,42 @@ public class PaymentService {
         return paymentMapper.toDtoList(payments);
     }
 
+    @Transactional(readOnly = true)
+    public CustomerPaymentSummaryDto getCustomerPaymentSummary(Long customerId) {
+        log.info("Fetching payment summary for customer: {}", customerId);
+
+        return customerPaymentSummaryRepository.findById(customerId)
+                .map(paymentMapper::toSummaryDto)
+                .orElseGet(() -> CustomerPaymentSummaryDto.builder()
+                        .customerId(customerId)
+                        .completedPayments(0L)
+                        .totalAmount(BigDecimal.ZERO)
+                        .refundedPayments(0L)
+                        .refundedAmount(BigDecimal.ZERO)
+                        .build());
+    }
+
+    public PaymentDto refundPayment(Long paymentId) {
+        log.info("Refunding payment: {}", paymentId);
+
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + paymentId));
+
+        // Conditional update, so concurrent refunds of one payment adjust the summary only once
+        LocalDateTime now = LocalDateTime.now();
+        if (paymentRepository.compareAndSetStatus(paymentId, PaymentStatus.COMPLETED, PaymentStatus.REFUNDED, now) == 0) {
+            throw new PaymentProcessingException("Only completed payments can be refunded");
+        }
+        customerPaymentSummaryRepository.recordRefunded(payment.getCustomerId(), payment.getAmount(), now);
+
+        payment.setStatus(PaymentStatus.REFUNDED);
+        payment.setUpdatedDate(now);
+
+        log.info("Payment {} refunded for ride {}", paymentId, payment.getRideId());
+
+        return paymentMapper.toDto(payment);
+    }
+
     @Transactional(readOnly = true)
     public PaymentDto getPaymentByRideId(Long rideId) {
         log.info("Fetching payment for ride: {}", rideId);
@@ -149,31 +323,172 @@ public class PaymentService {
         return paymentMapper.toDtoList(payments);
     }
 
-    private BigDecimal calculateDistance(String pickupLocation, String destinationLocation) {
-        // Simulate distance calculation
-        // In real implementation, use Google Maps API or similar
-        Random random = new Random();
-        double distance = 2.0 + (random.nextDouble() * 15.0); // 2-17 miles
-        return BigDecimal.valueOf(distance).setScale(2, RoundingMode.HALF_UP);
+    private RideType parseRideType(String rideType) {
+        try {
+            return RideType.valueOf(rideType.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new PaymentProcessingException("Invalid ride type: " + rideType);
+        }
     }
 
-    private String generateTransactionId() {
-        return "TXN_" + UUID.randomUUID().toString().replace("-", "").substring(0, 12).toUpperCase();
+    private CachedQuote quoteFare(String pickupLocation, String destinationLocation, RideType rideType,
+                                  long distanceHundredths) {
+        // Calculate fare and duration in whole cents / minutes; decimals only for the response
+        long estimatedFareCents = fareEngine.fareCents(rideType, distanceHundredths);
+        int estimatedDuration = fareEngine.estimatedDurationMinutes(distanceHundredths);
+
+        BigDecimal estimatedFare = FareEngine.toDecimal(estimatedFareCents);
+        BigDecimal distance = FareEngine.toDecimal(distanceHundredths);
+
+        FareCalculationResponseDto response = FareCalculationResponseDto.builder()
+                .estimatedFare(estimatedFare)
+                .distance(distance)
+                .estimatedDuration(estimatedDuration)
+                .baseFare(FareEngine.toDecimal(fareEngine.baseFareCents(rideType)))
+                .pricePerMile(FareEngine.toDecimal(fareEngine.pricePerMileCents(rideType)))
+                .rideType(rideType.name())
+                .build();
+
+        // Ride-service ranks and batches drivers by distance to the pickup, so it needs the coordinates too
+        gazetteerService.resolve(pickupLocation).ifPresent(pickup -> {
+            response.setPickupLatitude(pickup.latitude());
+            response.setPickupLongitude(pickup.longitude());
+        });
+
+        // The quote id carries the fare, so booking can reuse it until it expires
+        Instant expiresAt = Instant.now().plusSeconds(quoteTtlSeconds);
+        response.setQuoteId(fareQuoteSigner.sign(pickupLocation, destinationLocation, response,
+                expiresAt.getEpochSecond()));
+        response.setQuoteExpiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()));
+
+        log.info("Fare calculated successfully: ${} for {} miles", estimatedFare, distance);
+
+        return new CachedQuote(response, expiresAt.toEpochMilli());
     }
 
-    private boolean processPaymentWithGateway(PaymentRequestDto paymentRequest) {
-        // Simulate payment gateway processing
-        // In real implementation, integrate with actual payment gateway like Stripe, PayPal, etc.
+    // The transaction id is the idempotency key: every attempt at one payment reuses it
+    private GatewayResult chargeGateway(PaymentRequestDto paymentRequest, String transactionId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        GatewayResult result = paymentGateway.charge(paymentRequest, transactionId);
+        sample.stop(meterRegistry.timer("payment.gateway.requests", "outcome", result.outcome().name()));
+
+        if (!result.approved()) {
+            log.warn("Payment gateway returned {} for ride {}: {}",
+                    result.outcome(), paymentRequest.getRideId(), result.message());
+        }
+        return result;
+    }
+
+    private Payment completePaymentWithGateway(Long paymentId, String transactionId, PaymentRequestDto paymentRequest) {
+        GatewayResult gatewayResult;
 
         try {
-            // Simulate processing delay
-            Thread.sleep(1000);
-
-            // Simulate 95% success rate
-            return new Random().nextInt(100) < 95;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
+            gatewayResult = chargeGateway(paymentRequest, transactionId);
+        } catch (Exception e) {
+            log.error("Async payment processing failed for ride: {}", paymentRequest.getRideId(), e);
+            gatewayResult = new GatewayResult(GatewayOutcome.ERROR, e.getMessage());
+        }
+
+        return recordGatewayOutcome(paymentId, gatewayResult);
+    }
+
+    private void retryPayment(Payment payment) {
+        PaymentRequestDto paymentRequest = PaymentRequestDto.builder()
+                .customerId(payment.getCustomerId())
+                .rideId(payment.getRideId())
+                .amount(payment.getAmount())
+                .paymentMethod(payment.getPaymentMethod())
+                .build();
+
+        Payment retried = completePaymentWithGateway(payment.getId(), payment.getTransactionId(), paymentRequest);
+
+        String outcome;
+        if (retried.getStatus() == PaymentStatus.COMPLETED) {
+            outcome = "succeeded";
+        } else if (retried.getNextRetryAt() != null) {
+            outcome = "rescheduled";
+        } else {
+            outcome = "exhausted";
         }
+        meterRegistry.counter("payment.retry.outcomes", "outcome", outcome).increment();
+    }
+
+    // Exponential backoff with equal jitter: retries spread out but never bunch up near zero
+    private long retryBackoffMs(int retryCount) {
+        long window = Math.min(maxRetryBackoffMs, initialRetryBackoffMs << Math.min(retryCount, 20));
+        return window / 2 + ThreadLocalRandom.current().nextLong(window / 2 + 1);
+    }
+
+    /**
+     * Inserts the PROCESSING payment, or gets the ride's existing payment back from the same statement.
+     * The unique ride_id constraint decides between concurrent attempts for one ride, so no existence
+     * check is needed up front. A payment that failed for good is restarted so the customer can pay again.
+     */
+    private PaymentAttempt startPayment(PaymentRequestDto paymentRequest) {
+        String transactionId = transactionIdGenerator.nextTransactionId();
+        LocalDateTime now = LocalDateTime.now();
+
+        return transactionTemplate.execute(status -> {
+            Payment payment = paymentRepository.insertOrGetByRideId(paymentRequest.getCustomerId(),
+                    paymentRequest.getRideId(), paymentRequest.getAmount(), paymentRequest.getPaymentMethod().name(),
+                    transactionId, now);
+            if (transactionId.equals(payment.getTransactionId())) {
+                return new PaymentAttempt(payment, true);
+            }
+
+            if (payment.getStatus() == PaymentStatus.FAILED && payment.getNextRetryAt() == null
+                    && paymentRepository.restartFailedPayment(payment.getId(), paymentRequest.getAmount(),
+                    paymentRequest.getPaymentMethod(), transactionId, now) == 1) {
+                log.info("Payment for ride {} failed earlier, starting a new attempt", paymentRequest.getRideId());
+                return new PaymentAttempt(paymentRepository.findById(payment.getId()).orElseThrow(), true);
+            }
+
+            log.info("Payment for ride {} already exists, returning the original", paymentRequest.getRideId());
+            return new PaymentAttempt(payment, false);
+        });
+    }
+
+    private PaymentResponseDto existingPaymentResponse(Payment existing) {
+        return switch (existing.getStatus()) {
+            case COMPLETED -> paymentMapper.toResponseDto(existing, "Payment processed successfully");
+            case PENDING, PROCESSING -> paymentMapper.toResponseDto(existing, "Payment is being processed");
+            // Only failures with a retry still scheduled get here; the others were restarted
+            case FAILED -> throw new PaymentProcessingException("Payment failed and a retry is scheduled: "
+                    + existing.getFailureReason());
+            case CANCELLED, REFUNDED -> throw new PaymentConflictException("Payment for ride " + existing.getRideId()
+                    + " is already " + existing.getStatus().name().toLowerCase());
+        };
+    }
+
+    private Payment recordGatewayOutcome(Long paymentId, GatewayResult gatewayResult) {
+        Payment payment = transactionTemplate.execute(status -> {
+            Payment existing = paymentRepository.findById(paymentId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + paymentId));
+
+            // Conditional updates: only the update that actually completes the payment counts it in the summary
+            LocalDateTime now = LocalDateTime.now();
+            if (gatewayResult.approved()) {
+                if (paymentRepository.markCompleted(paymentId, "Payment processed successfully", now) == 1) {
+                    customerPaymentSummaryRepository.recordCompleted(existing.getCustomerId(), existing.getAmount(), now);
+                }
+            } else {
+                LocalDateTime nextRetryAt = gatewayResult.retryable() && existing.getRetryCount() < maxRetryAttempts
+                        ? now.plus(Duration.ofMillis(retryBackoffMs(existing.getRetryCount())))
+                        : null;
+                paymentRepository.markFailed(paymentId, gatewayResult.message(), nextRetryAt, now);
+            }
+
+            return paymentRepository.findById(paymentId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + paymentId));
+        });
+
+        log.info("Payment {} for ride {} finished with status {}",
+                paymentId, payment.getRideId(), payment.getStatus());
+
+        paymentStatusNotifier.publish(paymentMapper.toDto(payment));
+        return payment;
+    }
+
+    private record PaymentAttempt(Payment payment, boolean started) {
     }
 }
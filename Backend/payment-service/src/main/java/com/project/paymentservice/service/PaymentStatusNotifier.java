@@ -0,0 +1,77 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.dtos.PaymentDto;
+import com.project.paymentservice.enums.PaymentStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Component
+@Slf4j
+public class PaymentStatusNotifier {
+
+    private static final String EVENT_NAME = "payment-status";
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final long streamTimeoutMs;
+
+    public PaymentStatusNotifier(@Value("${payment.status-stream.timeout-ms:60000}") long streamTimeoutMs) {
+        this.streamTimeoutMs = streamTimeoutMs;
+    }
+
+    public SseEmitter subscribe(Long rideId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+
+        subscribers.compute(rideId, (id, emitters) -> {
+            List<SseEmitter> updated = emitters != null ? emitters : new CopyOnWriteArrayList<>();
+            updated.add(emitter);
+            return updated;
+        });
+        emitter.onCompletion(() -> unsubscribe(rideId, emitter));
+        emitter.onTimeout(() -> unsubscribe(rideId, emitter));
+        emitter.onError(e -> unsubscribe(rideId, emitter));
+
+        return emitter;
+    }
+
+    public void send(SseEmitter emitter, PaymentDto payment) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(payment));
+            if (isFinal(payment.getStatus())) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping payment status subscriber for ride {}: {}", payment.getRideId(), e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    public void publish(PaymentDto payment) {
+        List<SseEmitter> emitters = subscribers.get(payment.getRideId());
+        if (emitters == null) {
+            return;
+        }
+
+        for (SseEmitter emitter : emitters) {
+            send(emitter, payment);
+        }
+    }
+
+    private void unsubscribe(Long rideId, SseEmitter emitter) {
+        subscribers.computeIfPresent(rideId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private boolean isFinal(PaymentStatus status) {
+        return status != PaymentStatus.PENDING && status != PaymentStatus.PROCESSING;
+    }
+}
@@ -0,0 +1,130 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.dtos.PaymentRequestDto;
+import com.project.paymentservice.enums.GatewayOutcome;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for a card processor, for load tests and benchmarks.
+ * Latency is lognormal around a median with occasional tail spikes; calls beyond the
+ * concurrency limit are throttled, slow calls time out, and the rest fail or are declined
+ * at the configured rates.
+ * <p>
+ * Like a real processor it honours idempotency keys: a charge that was settled, even one the
+ * caller saw time out, is replayed rather than charged again when the same key comes back.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.gateway.type", havingValue = "simulated", matchIfMissing = true)
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final double latencyMu;
+    private final double latencySigma;
+    private final double spikeProbability;
+    private final double spikeMultiplier;
+    private final long timeoutMs;
+    private final double errorRate;
+    private final double declineRate;
+    private final Semaphore inFlight;
+    private final Map<String, GatewayResult> settledCharges;
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+
+    public SimulatedPaymentGateway(@Value("${payment.gateway.simulator.latency-median-ms:300}") double latencyMedianMs,
+                                   @Value("${payment.gateway.simulator.latency-sigma:0.5}") double latencySigma,
+                                   @Value("${payment.gateway.simulator.spike-probability:0.01}") double spikeProbability,
+                                   @Value("${payment.gateway.simulator.spike-multiplier:10}") double spikeMultiplier,
+                                   @Value("${payment.gateway.simulator.timeout-ms:5000}") long timeoutMs,
+                                   @Value("${payment.gateway.simulator.error-rate:0.02}") double errorRate,
+                                   @Value("${payment.gateway.simulator.decline-rate:0.03}") double declineRate,
+                                   @Value("${payment.gateway.simulator.max-concurrent-requests:50}") int maxConcurrentRequests,
+                                   @Value("${payment.gateway.simulator.idempotency-keys:100000}") int idempotencyKeys) {
+        this.latencyMu = Math.log(Math.max(latencyMedianMs, 1));
+        this.latencySigma = latencySigma;
+        this.spikeProbability = spikeProbability;
+        this.spikeMultiplier = spikeMultiplier;
+        this.timeoutMs = timeoutMs;
+        this.errorRate = errorRate;
+        this.declineRate = declineRate;
+        this.inFlight = new Semaphore(maxConcurrentRequests);
+        this.settledCharges = Collections.synchronizedMap(new LinkedHashMap<String, GatewayResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, GatewayResult> eldest) {
+                return size() > idempotencyKeys;
+            }
+        });
+    }
+
+    @Override
+    public GatewayResult charge(PaymentRequestDto paymentRequest, String idempotencyKey) {
+        GatewayResult settled = settledCharges.get(idempotencyKey);
+        if (settled != null) {
+            return settled;
+        }
+        if (!pendingKeys.add(idempotencyKey)) {
+            return new GatewayResult(GatewayOutcome.ERROR, "A charge with this idempotency key is already in progress");
+        }
+        if (!inFlight.tryAcquire()) {
+            pendingKeys.remove(idempotencyKey);
+            return new GatewayResult(GatewayOutcome.THROTTLED, "Payment gateway is throttling requests");
+        }
+
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long latencyMs = sampleLatencyMs(random);
+            GatewayResult result = decide(random);
+
+            if (latencyMs > timeoutMs) {
+                Thread.sleep(timeoutMs);
+                // The processor still settles the charge; only the caller stopped waiting
+                remember(idempotencyKey, result);
+                return new GatewayResult(GatewayOutcome.TIMEOUT, "Payment gateway timed out after " + timeoutMs + " ms");
+            }
+            Thread.sleep(latencyMs);
+
+            remember(idempotencyKey, result);
+            return result;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new GatewayResult(GatewayOutcome.ERROR, "Payment gateway call was interrupted");
+        } finally {
+            inFlight.release();
+            pendingKeys.remove(idempotencyKey);
+        }
+    }
+
+    private GatewayResult decide(ThreadLocalRandom random) {
+        double roll = random.nextDouble();
+        if (roll < errorRate) {
+            return new GatewayResult(GatewayOutcome.ERROR, "Payment gateway error");
+        }
+        if (roll < errorRate + declineRate) {
+            return new GatewayResult(GatewayOutcome.DECLINED, "Payment declined by gateway");
+        }
+        return new GatewayResult(GatewayOutcome.APPROVED, "Payment processed successfully");
+    }
+
+    // Errors never reached the card, so only approvals and declines are settled
+    private void remember(String idempotencyKey, GatewayResult result) {
+        if (result.outcome() != GatewayOutcome.ERROR) {
+            settledCharges.put(idempotencyKey, result);
+        }
+    }
+
+    long sampleLatencyMs(ThreadLocalRandom random) {
+        double latency = Math.exp(latencyMu + latencySigma * random.nextGaussian());
+        if (random.nextDouble() < spikeProbability) {
+            latency *= spikeMultiplier;
+        }
+        return Math.round(latency);
+    }
+}
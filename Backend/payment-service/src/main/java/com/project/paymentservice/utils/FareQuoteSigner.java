@@ -0,0 +1,72 @@
+package com.project.paymentservice.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.paymentservice.dtos.FareCalculationResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Issues quote ids of the form {@code base64url(claims).base64url(hmac)}.
+ * The claims carry the whole fare so booking can reuse the quote without calling back here;
+ * ride-service verifies the signature with the same {@code fare.quote.secret}.
+ */
+@Component
+public class FareQuoteSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec key;
+
+    public FareQuoteSigner(ObjectMapper objectMapper, @Value("${fare.quote.secret}") String secret) {
+        this.objectMapper = objectMapper;
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        // No default key: a missing or short secret would let clients mint quotes at any fare
+        if (secretBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("fare.quote.secret must be set to at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+    }
+
+    public String sign(String pickupLocation, String destinationLocation, FareCalculationResponseDto fare,
+                       long expiresAtEpochSeconds) {
+        FareQuoteClaims claims = new FareQuoteClaims(pickupLocation, destinationLocation, fare.getRideType(),
+                fare.getEstimatedFare(), fare.getDistance(), fare.getEstimatedDuration(), fare.getBaseFare(),
+                fare.getPricePerMile(), fare.getPickupLatitude(), fare.getPickupLongitude(), expiresAtEpochSeconds);
+
+        try {
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            String payload = encoder.encodeToString(objectMapper.writeValueAsBytes(claims));
+
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            String signature = encoder.encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+
+            return payload + "." + signature;
+        } catch (JsonProcessingException | GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign fare quote", e);
+        }
+    }
+
+    public record FareQuoteClaims(String pickupLocation,
+                                  String destinationLocation,
+                                  String rideType,
+                                  BigDecimal estimatedFare,
+                                  BigDecimal distance,
+                                  Integer estimatedDuration,
+                                  BigDecimal baseFare,
+                                  BigDecimal pricePerMile,
+                                  Double pickupLatitude,
+                                  Double pickupLongitude,
+                                  long expiresAt) {
+    }
+}
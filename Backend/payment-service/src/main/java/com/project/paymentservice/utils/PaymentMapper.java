@@ -1,7 +1,9 @@
 package com.project.paymentservice.utils;
 
+import com.project.paymentservice.dtos.CustomerPaymentSummaryDto;
 import com.project.paymentservice.dtos.PaymentDto;
 import com.project.paymentservice.dtos.PaymentResponseDto;
+import com.project.paymentservice.entity.CustomerPaymentSummary;
 import com.project.paymentservice.entity.Payment;
 import org.springframework.stereotype.Component;
 
@@ -26,6 +28,8 @@ public class PaymentMapper {
                 .transactionId(payment.getTransactionId())
                 .failureReason(payment.getFailureReason())
                 .processedAt(payment.getProcessedAt())
+                .retryCount(payment.getRetryCount())
+                .nextRetryAt(payment.getNextRetryAt())
                 .createdDate(payment.getCreatedDate())
                 .updatedDate(payment.getUpdatedDate())
                 .build();
@@ -41,6 +45,21 @@ public class PaymentMapper {
                 .collect(Collectors.toList());
     }
 
+    public CustomerPaymentSummaryDto toSummaryDto(CustomerPaymentSummary summary) {
+        if (summary == null) {
+            return null;
+        }
+
+        return CustomerPaymentSummaryDto.builder()
+                .customerId(summary.getCustomerId())
+                .completedPayments(summary.getCompletedCount())
+                .totalAmount(summary.getCompletedAmount())
+                .refundedPayments(summary.getRefundedCount())
+                .refundedAmount(summary.getRefundedAmount())
+                .updatedDate(summary.getUpdatedDate())
+                .build();
+    }
+
     public PaymentResponseDto toResponseDto(Payment payment, String message) {
         if (payment == null) {
             return null;
@@ -0,0 +1,84 @@
+package com.project.paymentservice.utils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style transaction ids: 41 bits of milliseconds since 2024-01-01, 10 bits of worker id
+ * and a 12-bit per-millisecond sequence, rendered as fixed-width Crockford base32.
+ * Ids from one worker are strictly increasing, so inserts append to the right edge of the
+ * transaction_id index. The timestamp and sequence share one AtomicLong updated by CAS; no locks.
+ */
+@Component
+public class TransactionIdGenerator {
+
+    private static final String PREFIX = "TXN_";
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private static final long EPOCH_MS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int WORKER_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_WORKER_ID = (1L << WORKER_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long workerId;
+    private final LongSupplier clock;
+
+    // Last issued (millisecond << SEQUENCE_BITS | sequence)
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public TransactionIdGenerator(@Value("${payment.transaction-id.worker-id:0}") long workerId) {
+        this(workerId, System::currentTimeMillis);
+    }
+
+    TransactionIdGenerator(long workerId, LongSupplier clock) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("Transaction id worker id must be between 0 and " + MAX_WORKER_ID);
+        }
+        this.workerId = workerId;
+        this.clock = clock;
+    }
+
+    public String nextTransactionId() {
+        long id = nextId();
+
+        char[] encoded = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), encoded, 0);
+        for (int i = encoded.length - 1; i >= PREFIX.length(); i--) {
+            encoded[i] = CROCKFORD[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(encoded);
+    }
+
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long lastMillis = current >>> SEQUENCE_BITS;
+            long nowMillis = clock.getAsLong() - EPOCH_MS;
+
+            long next;
+            if (nowMillis > lastMillis) {
+                next = nowMillis << SEQUENCE_BITS;
+            } else if ((current & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                // Same millisecond, or the clock moved backwards: keep counting on the last one
+                next = current + 1;
+            } else {
+                // Sequence exhausted: borrow the next millisecond rather than spin
+                next = (lastMillis + 1) << SEQUENCE_BITS;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                return (millis << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+}
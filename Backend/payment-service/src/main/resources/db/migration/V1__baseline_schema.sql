@@ -0,0 +1,43 @@
+-- Baseline schema for payment-service. Replaces spring.jpa.hibernate.ddl-auto=create;
+-- Hibernate now only validates the entities against these tables.
+
+CREATE TABLE payments (
+    id                       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    customer_id              BIGINT         NOT NULL,
+    ride_id                  BIGINT         NOT NULL,
+    amount                   NUMERIC(10, 2) NOT NULL,
+    payment_method           VARCHAR(20)    NOT NULL
+        CHECK (payment_method IN ('CREDIT_CARD', 'DEBIT_CARD', 'CASH', 'UPI', 'DIGITAL_WALLET')),
+    status                   VARCHAR(20)    NOT NULL DEFAULT 'PENDING'
+        CHECK (status IN ('PENDING', 'PROCESSING', 'COMPLETED', 'FAILED', 'CANCELLED', 'REFUNDED')),
+    transaction_id           VARCHAR(255),
+    payment_gateway_response VARCHAR(1000),
+    failure_reason           VARCHAR(500),
+    processed_at             TIMESTAMP(6),
+    retry_count              INTEGER        NOT NULL DEFAULT 0,
+    next_retry_at            TIMESTAMP(6),
+    created_date             TIMESTAMP(6),
+    updated_date             TIMESTAMP(6),
+    -- findByRideId, and the one-payment-per-ride guarantee
+    CONSTRAINT uk_payments_ride_id UNIQUE (ride_id),
+    -- findByTransactionId
+    CONSTRAINT uk_payments_transaction_id UNIQUE (transaction_id)
+);
+
+-- findByCustomerIdOrderByCreatedDateDesc / findByCustomerIdAndStatus
+CREATE INDEX idx_payments_customer_created ON payments (customer_id, created_date);
+
+-- lockDueRetries and findByStatus
+CREATE INDEX idx_payments_retry_due ON payments (status, next_retry_at);
+
+-- Export range scans
+CREATE INDEX idx_payments_created_date ON payments (created_date);
+
+CREATE TABLE customer_payment_summary (
+    customer_id      BIGINT PRIMARY KEY,
+    completed_count  BIGINT         NOT NULL DEFAULT 0,
+    completed_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    refunded_count   BIGINT         NOT NULL DEFAULT 0,
+    refunded_amount  NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    updated_date     TIMESTAMP(6)   NOT NULL
+);
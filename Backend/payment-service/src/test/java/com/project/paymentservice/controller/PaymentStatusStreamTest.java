@@ -0,0 +1,64 @@
+package com.project.paymentservice.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "payment.gateway.simulator.latency-median-ms=50",
+        "payment.gateway.simulator.error-rate=0",
+        "payment.gateway.simulator.decline-rate=0",
+        "payment.gateway.simulator.spike-probability=0"
+})
+class PaymentStatusStreamTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void asyncPaymentDeliversTerminalStatusToSubscriber() throws Exception {
+        long rideId = System.nanoTime();
+
+        // Response headers are committed once the emitter is registered, so the subscription exists after this returns
+        HttpResponse<Stream<String>> stream = httpClient.send(HttpRequest.newBuilder(uri("/api/payments/ride/" + rideId + "/stream"))
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, stream.statusCode());
+        // The emitter completes after the terminal event, which ends the stream
+        CompletableFuture<List<String>> lines = CompletableFuture.supplyAsync(() -> stream.body().toList());
+
+        HttpResponse<String> accepted = httpClient.send(HttpRequest.newBuilder(uri("/api/payments/process/async"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"customerId": 1, "rideId": %d, "amount": 18.75, "paymentMethod": "CREDIT_CARD"}
+                        """.formatted(rideId)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(202, accepted.statusCode());
+
+        List<String> events = lines.get(10, TimeUnit.SECONDS);
+        assertTrue(events.contains("event:payment-status"), "no status event in " + events);
+        assertTrue(events.stream().anyMatch(line -> line.startsWith("data:")
+                && line.contains("\"rideId\":" + rideId) && line.contains("\"status\":\"COMPLETED\"")),
+                "no COMPLETED event in " + events);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,70 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.dtos.CustomerPaymentSummaryDto;
+import com.project.paymentservice.dtos.PaymentRequestDto;
+import com.project.paymentservice.dtos.PaymentResponseDto;
+import com.project.paymentservice.enums.PaymentMethod;
+import com.project.paymentservice.exception.PaymentProcessingException;
+import com.project.paymentservice.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "payment.gateway.simulator.latency-median-ms=1",
+        "payment.gateway.simulator.error-rate=0",
+        "payment.gateway.simulator.decline-rate=0",
+        "payment.gateway.simulator.spike-probability=0"
+})
+class CustomerPaymentSummaryTest {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Test
+    void summaryMatchesScanQueriesAfterPaymentsAndRefunds() {
+        long customerId = System.nanoTime();
+        List<PaymentResponseDto> payments = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            payments.add(paymentService.processPayment(PaymentRequestDto.builder()
+                    .customerId(customerId)
+                    .rideId(customerId + i)
+                    .amount(new BigDecimal(i + ".25"))
+                    .paymentMethod(PaymentMethod.CREDIT_CARD)
+                    .build()));
+        }
+
+        BigDecimal refunded = BigDecimal.ZERO;
+        for (int i = 0; i < payments.size(); i += 4) {
+            paymentService.refundPayment(payments.get(i).getPaymentId());
+            refunded = refunded.add(payments.get(i).getAmount());
+        }
+        assertThrows(PaymentProcessingException.class,
+                () -> paymentService.refundPayment(payments.get(0).getPaymentId()));
+
+        CustomerPaymentSummaryDto summary = paymentService.getCustomerPaymentSummary(customerId);
+
+        assertEquals(paymentRepository.countCompletedPaymentsByCustomer(customerId), summary.getCompletedPayments());
+        assertEquals(0, paymentRepository.getTotalAmountByCustomer(customerId).compareTo(summary.getTotalAmount()));
+        assertEquals(3L, summary.getRefundedPayments());
+        assertEquals(0, refunded.compareTo(summary.getRefundedAmount()));
+    }
+
+    @Test
+    void customerWithoutPaymentsHasEmptySummary() {
+        CustomerPaymentSummaryDto summary = paymentService.getCustomerPaymentSummary(-1L);
+
+        assertEquals(0L, summary.getCompletedPayments());
+        assertEquals(0, BigDecimal.ZERO.compareTo(summary.getTotalAmount()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.paymentservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DistanceServiceTest {
+
+    private final GazetteerService gazetteerService = new GazetteerService("");
+    private final DistanceService distanceService = new DistanceService(gazetteerService, 1.3, 1.0, 100);
+
+    @Test
+    void knownPlacesUseGazetteerCoordinates() {
+        // About 13.5 miles as the crow flies, scaled by the road factor
+        long distance = distanceService.distanceHundredths("JFK Airport, Queens, NY", "Times Square, Manhattan, NY");
+
+        assertTrue(distance > 1_500 && distance < 1_800, "unexpected distance " + distance);
+        assertEquals(distance, distanceService.distanceHundredths("  jfk airport ", "TIMES   SQUARE"));
+    }
+
+    @Test
+    void unknownPlacesGetStableSymmetricDistance() {
+        DistanceService other = new DistanceService(gazetteerService, 1.3, 1.0, 100);
+
+        long distance = distanceService.distanceHundredths("12 Nowhere Lane", "Somewhere Else");
+
+        assertTrue(distance >= 200 && distance <= 1_700);
+        assertEquals(distance, other.distanceHundredths("12 Nowhere Lane", "Somewhere Else"));
+        assertEquals(distance, other.distanceHundredths("Somewhere Else", "12 Nowhere Lane"));
+    }
+
+    @Test
+    void sameLocationIsChargedTheMinimum() {
+        assertEquals(100, distanceService.distanceHundredths("Penn Station", "Penn Station, Manhattan, NY"));
+    }
+}
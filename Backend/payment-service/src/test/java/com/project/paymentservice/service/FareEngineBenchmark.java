@@ -0,0 +1,94 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.enums.RideType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fare and duration for one quote: the BigDecimal arithmetic calculateFare used to do, against
+ * {@link FareEngine} on cents, with and without the conversion at the DTO boundary.
+ * Run with {@code -prof gc} to see allocations per operation next to the throughput.
+ * <p>
+ * Run with {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath org.openjdk.jmh.Main FareEngineBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FareEngineBenchmark {
+
+    private static final int ROUTES = 1024;
+    private static final RideType[] RIDE_TYPES = RideType.values();
+
+    private final FareEngine fareEngine = new FareEngine();
+
+    private long[] distanceHundredths;
+    private BigDecimal[] distances;
+    private int nextRoute;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        distanceHundredths = new long[ROUTES];
+        distances = new BigDecimal[ROUTES];
+        for (int i = 0; i < ROUTES; i++) {
+            distanceHundredths[i] = 100 + random.nextInt(2_400);
+            distances[i] = BigDecimal.valueOf(distanceHundredths[i], 2);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalFare(Blackhole blackhole) {
+        int route = nextRoute();
+        RideType rideType = RIDE_TYPES[route % RIDE_TYPES.length];
+        BigDecimal distance = distances[route];
+
+        BigDecimal estimatedFare = rideType.getBaseFare().add(distance.multiply(rideType.getPricePerMile()))
+                .setScale(2, RoundingMode.HALF_UP);
+        blackhole.consume(distance.multiply(BigDecimal.valueOf(3.5)).intValue() + new Random().nextInt(10));
+        return estimatedFare;
+    }
+
+    @Benchmark
+    public long centsFare(Blackhole blackhole) {
+        int route = nextRoute();
+        RideType rideType = RIDE_TYPES[route % RIDE_TYPES.length];
+        long distance = distanceHundredths[route];
+
+        blackhole.consume(fareEngine.estimatedDurationMinutes(distance));
+        return fareEngine.fareCents(rideType, distance);
+    }
+
+    @Benchmark
+    public BigDecimal centsFareForResponse(Blackhole blackhole) {
+        int route = nextRoute();
+        RideType rideType = RIDE_TYPES[route % RIDE_TYPES.length];
+        long distance = distanceHundredths[route];
+
+        blackhole.consume(fareEngine.estimatedDurationMinutes(distance));
+        return FareEngine.toDecimal(fareEngine.fareCents(rideType, distance));
+    }
+
+    private int nextRoute() {
+        int route = nextRoute;
+        nextRoute = (nextRoute + 1) & (ROUTES - 1);
+        return route;
+    }
+}
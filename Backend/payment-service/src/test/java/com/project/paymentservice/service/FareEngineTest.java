@@ -0,0 +1,41 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.enums.RideType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FareEngineTest {
+
+    private final FareEngine fareEngine = new FareEngine();
+
+    @Test
+    void centsFareMatchesDecimalFormula() {
+        for (RideType rideType : RideType.values()) {
+            for (long distanceHundredths = 0; distanceHundredths <= 5_000; distanceHundredths++) {
+                BigDecimal distance = BigDecimal.valueOf(distanceHundredths, 2);
+                BigDecimal expected = rideType.getBaseFare()
+                        .add(distance.multiply(rideType.getPricePerMile()))
+                        .setScale(2, RoundingMode.HALF_UP);
+
+                assertEquals(expected, FareEngine.toDecimal(fareEngine.fareCents(rideType, distanceHundredths)));
+            }
+        }
+    }
+
+    @Test
+    void durationIsDeterministicAndNearEstimate() {
+        for (long distanceHundredths = 200; distanceHundredths <= 1_700; distanceHundredths += 7) {
+            int expectedMinimum = BigDecimal.valueOf(distanceHundredths, 2)
+                    .multiply(BigDecimal.valueOf(3.5)).intValue();
+            int duration = fareEngine.estimatedDurationMinutes(distanceHundredths);
+
+            assertTrue(duration >= expectedMinimum && duration < expectedMinimum + 10);
+            assertEquals(duration, fareEngine.estimatedDurationMinutes(distanceHundredths));
+        }
+    }
+}
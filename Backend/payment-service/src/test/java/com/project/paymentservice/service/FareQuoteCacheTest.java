@@ -0,0 +1,37 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.dtos.FareCalculationResponseDto;
+import com.project.paymentservice.enums.RideType;
+import com.project.paymentservice.service.FareQuoteCache.CachedQuote;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class FareQuoteCacheTest {
+
+    private final FareQuoteCache cache = new FareQuoteCache(100, new SimpleMeterRegistry());
+
+    @Test
+    void callersCannotChangeTheCachedQuote() {
+        FareCalculationResponseDto first = cache.get("Times Square", "JFK Airport", RideType.ECONOMY, () ->
+                new CachedQuote(FareCalculationResponseDto.builder()
+                        .estimatedFare(new BigDecimal("42.50"))
+                        .rideType(RideType.ECONOMY.name())
+                        .quoteId("quote")
+                        .build(), System.currentTimeMillis() + 60_000));
+        first.setEstimatedFare(BigDecimal.ZERO);
+        first.setQuoteId(null);
+
+        FareCalculationResponseDto second = cache.get("Times Square", "JFK Airport", RideType.ECONOMY, () -> {
+            throw new AssertionError("expected a cache hit");
+        });
+
+        assertNotSame(first, second);
+        assertEquals(new BigDecimal("42.50"), second.getEstimatedFare());
+        assertEquals("quote", second.getQuoteId());
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.dtos.PaymentRequestDto;
+import com.project.paymentservice.enums.ExportFormat;
+import com.project.paymentservice.enums.PaymentMethod;
+import com.project.paymentservice.enums.PaymentStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "payment.gateway.simulator.latency-median-ms=10",
+        "payment.gateway.simulator.error-rate=0",
+        "payment.gateway.simulator.decline-rate=0",
+        "payment.gateway.simulator.spike-probability=0",
+        "payment.export.fetch-size=2"
+})
+class PaymentExportTest {
+
+    private static final int PAYMENTS = 5;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentExportService paymentExportService;
+
+    @Test
+    void exportStreamsFilteredRowsAcrossFetches() throws Exception {
+        LocalDateTime from = LocalDateTime.now().minusSeconds(1);
+        long customerId = System.nanoTime();
+        for (int i = 0; i < PAYMENTS; i++) {
+            paymentService.processPayment(PaymentRequestDto.builder()
+                    .customerId(customerId)
+                    .rideId(customerId + i)
+                    .amount(new BigDecimal("12.50"))
+                    .paymentMethod(PaymentMethod.CREDIT_CARD)
+                    .build());
+        }
+
+        List<String> csv = export(ExportFormat.CSV, from, PaymentStatus.COMPLETED);
+        assertEquals(PAYMENTS + 1, csv.size());
+        assertTrue(csv.get(0).startsWith("id,customer_id,ride_id"));
+        assertTrue(csv.stream().skip(1).allMatch(line -> line.contains("," + customerId + ",")));
+
+        List<String> ndjson = export(ExportFormat.NDJSON, from, PaymentStatus.COMPLETED);
+        assertEquals(PAYMENTS, ndjson.size());
+        assertTrue(ndjson.stream().allMatch(line -> line.startsWith("{") && line.contains("\"status\":\"COMPLETED\"")));
+
+        assertTrue(export(ExportFormat.NDJSON, from, PaymentStatus.REFUNDED).isEmpty());
+    }
+
+    @Test
+    void csvFieldsWithDelimitersAreQuoted() {
+        assertEquals("plain", PaymentExportService.csvField("plain"));
+        assertEquals("\"card, declined\"", PaymentExportService.csvField("card, declined"));
+        assertEquals("\"say \"\"no\"\"\"", PaymentExportService.csvField("say \"no\""));
+        assertEquals("", PaymentExportService.csvField(null));
+    }
+
+    private List<String> export(ExportFormat format, LocalDateTime from, PaymentStatus status) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        paymentExportService.exportPayments(format, from, null, status, output);
+        String text = output.toString(StandardCharsets.UTF_8);
+        return text.isEmpty() ? List.of() : List.of(text.split("\n"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.dtos.PaymentRequestDto;
+import com.project.paymentservice.dtos.PaymentResponseDto;
+import com.project.paymentservice.entity.Payment;
+import com.project.paymentservice.enums.GatewayOutcome;
+import com.project.paymentservice.enums.PaymentMethod;
+import com.project.paymentservice.enums.PaymentStatus;
+import com.project.paymentservice.exception.PaymentConflictException;
+import com.project.paymentservice.exception.PaymentProcessingException;
+import com.project.paymentservice.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {
+        "payment.gateway.simulator.latency-median-ms=50",
+        "payment.gateway.simulator.error-rate=0",
+        "payment.gateway.simulator.decline-rate=0",
+        "payment.gateway.simulator.spike-probability=0"
+})
+class PaymentIdempotencyTest {
+
+    private static final int ATTEMPTS = 8;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @MockitoSpyBean
+    private PaymentGateway paymentGateway;
+
+    @Test
+    void concurrentRetriesForOneRideChargeOnce() throws Exception {
+        long rideId = System.nanoTime();
+        PaymentRequestDto paymentRequest = paymentRequest(rideId);
+
+        ExecutorService executor = Executors.newFixedThreadPool(ATTEMPTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<PaymentResponseDto>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    return paymentService.processPayment(paymentRequest);
+                }));
+            }
+            start.countDown();
+
+            Long paymentId = null;
+            for (Future<PaymentResponseDto> attempt : attempts) {
+                PaymentResponseDto response = attempt.get();
+                paymentId = paymentId == null ? response.getPaymentId() : paymentId;
+                assertEquals(paymentId, response.getPaymentId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(paymentRepository.findByRideId(rideId).isPresent());
+        verify(paymentGateway, times(1)).charge(any(), any());
+
+        PaymentResponseDto replay = paymentService.processPayment(paymentRequest);
+        assertEquals(PaymentStatus.COMPLETED, replay.getStatus());
+        verify(paymentGateway, times(1)).charge(any(), any());
+    }
+
+    @Test
+    void paymentDeclinedForGoodCanBeAttemptedAgain() {
+        PaymentRequestDto paymentRequest = paymentRequest(System.nanoTime());
+
+        doReturn(new GatewayResult(GatewayOutcome.DECLINED, "Card declined"))
+                .doCallRealMethod()
+                .when(paymentGateway).charge(any(), any());
+
+        assertThrows(PaymentProcessingException.class, () -> paymentService.processPayment(paymentRequest));
+        Payment declined = paymentRepository.findByRideId(paymentRequest.getRideId()).orElseThrow();
+
+        paymentRequest.setPaymentMethod(PaymentMethod.DEBIT_CARD);
+        PaymentResponseDto retried = paymentService.processPayment(paymentRequest);
+
+        assertEquals(PaymentStatus.COMPLETED, retried.getStatus());
+        assertEquals(declined.getId(), retried.getPaymentId());
+        Payment completed = paymentRepository.findById(declined.getId()).orElseThrow();
+        assertEquals(PaymentMethod.DEBIT_CARD, completed.getPaymentMethod());
+        assertNotEquals(declined.getTransactionId(), completed.getTransactionId());
+    }
+
+    @Test
+    void refundedPaymentIsAConflict() {
+        PaymentRequestDto paymentRequest = paymentRequest(System.nanoTime());
+
+        PaymentResponseDto paid = paymentService.processPayment(paymentRequest);
+        paymentService.refundPayment(paid.getPaymentId());
+
+        assertThrows(PaymentConflictException.class, () -> paymentService.processPayment(paymentRequest));
+        verify(paymentGateway, times(1)).charge(any(), any());
+    }
+
+    private PaymentRequestDto paymentRequest(long rideId) {
+        return PaymentRequestDto.builder()
+                .customerId(1L)
+                .rideId(rideId)
+                .amount(new BigDecimal("18.75"))
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.dtos.PaymentRequestDto;
+import com.project.paymentservice.entity.Payment;
+import com.project.paymentservice.enums.GatewayOutcome;
+import com.project.paymentservice.enums.PaymentMethod;
+import com.project.paymentservice.enums.PaymentStatus;
+import com.project.paymentservice.exception.PaymentProcessingException;
+import com.project.paymentservice.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {
+        "payment.gateway.simulator.latency-median-ms=50",
+        "payment.gateway.simulator.error-rate=0",
+        "payment.gateway.simulator.decline-rate=0",
+        "payment.gateway.simulator.spike-probability=0",
+        "payment.retry.initial-backoff-ms=0",
+        "payment.retry.poll-interval-ms=3600000"
+})
+class PaymentRetryTest {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @MockitoSpyBean
+    private PaymentGateway paymentGateway;
+
+    @Test
+    void retryableFailureIsRetriedUntilCompleted() throws Exception {
+        long rideId = System.nanoTime();
+        PaymentRequestDto paymentRequest = PaymentRequestDto.builder()
+                .customerId(1L)
+                .rideId(rideId)
+                .amount(new BigDecimal("22.40"))
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .build();
+
+        doReturn(new GatewayResult(GatewayOutcome.TIMEOUT, "Gateway timed out"))
+                .doCallRealMethod()
+                .when(paymentGateway).charge(any(), any());
+
+        assertThrows(PaymentProcessingException.class, () -> paymentService.processPayment(paymentRequest));
+
+        Payment failed = paymentRepository.findByRideId(rideId).orElseThrow();
+        assertEquals(PaymentStatus.FAILED, failed.getStatus());
+        assertNotNull(failed.getNextRetryAt());
+
+        paymentService.retryFailedPayments();
+
+        Payment retried = awaitFinalStatus(rideId);
+        assertEquals(PaymentStatus.COMPLETED, retried.getStatus());
+        assertEquals(1, retried.getRetryCount());
+        assertNull(retried.getNextRetryAt());
+        // Both attempts carry the payment's transaction id, so the gateway can deduplicate them
+        verify(paymentGateway, times(2)).charge(any(), eq(failed.getTransactionId()));
+    }
+
+    @Test
+    void declinedPaymentIsNotRetried() {
+        long rideId = System.nanoTime();
+        PaymentRequestDto paymentRequest = PaymentRequestDto.builder()
+                .customerId(1L)
+                .rideId(rideId)
+                .amount(new BigDecimal("9.10"))
+                .paymentMethod(PaymentMethod.DEBIT_CARD)
+                .build();
+
+        doReturn(new GatewayResult(GatewayOutcome.DECLINED, "Card declined"))
+                .when(paymentGateway).charge(any(), any());
+
+        assertThrows(PaymentProcessingException.class, () -> paymentService.processPayment(paymentRequest));
+
+        Payment declined = paymentRepository.findByRideId(rideId).orElseThrow();
+        assertEquals(PaymentStatus.FAILED, declined.getStatus());
+        assertNull(declined.getNextRetryAt());
+    }
+
+    private Payment awaitFinalStatus(long rideId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        Payment payment = paymentRepository.findByRideId(rideId).orElseThrow();
+        while (payment.getStatus() == PaymentStatus.PROCESSING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            payment = paymentRepository.findByRideId(rideId).orElseThrow();
+        }
+        return payment;
+    }
+}
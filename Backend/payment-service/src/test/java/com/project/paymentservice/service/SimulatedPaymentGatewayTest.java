@@ -0,0 +1,87 @@
+package com.project.paymentservice.service;
+
+import com.project.paymentservice.dtos.PaymentRequestDto;
+import com.project.paymentservice.enums.GatewayOutcome;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulatedPaymentGatewayTest {
+
+    private final PaymentRequestDto paymentRequest = PaymentRequestDto.builder().rideId(1L).build();
+
+    @Test
+    void outcomesFollowConfiguredRates() {
+        assertEquals(GatewayOutcome.APPROVED, gateway(1, 0, 0, 10).charge(paymentRequest, "txn-approved").outcome());
+
+        GatewayResult declined = gateway(1, 0, 1, 10).charge(paymentRequest, "txn-declined");
+        assertEquals(GatewayOutcome.DECLINED, declined.outcome());
+        assertFalse(declined.retryable());
+
+        GatewayResult error = gateway(1, 1, 0, 10).charge(paymentRequest, "txn-error");
+        assertEquals(GatewayOutcome.ERROR, error.outcome());
+        assertTrue(error.retryable());
+    }
+
+    @Test
+    void slowCallsTimeOutAtTheConfiguredLimit() {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(10_000, 0, 0, 1, 20, 0, 0, 10, 100);
+
+        long start = System.nanoTime();
+        GatewayResult result = gateway.charge(paymentRequest, "txn-slow");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(GatewayOutcome.TIMEOUT, result.outcome());
+        assertTrue(elapsedMs < 1_000, "timed out call took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void callsBeyondConcurrencyLimitAreThrottled() throws Exception {
+        SimulatedPaymentGateway gateway = gateway(300, 0, 0, 1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            Future<GatewayResult> slowCall = executor.submit(() -> {
+                started.countDown();
+                return gateway.charge(paymentRequest, "txn-slow");
+            });
+            started.await();
+            Thread.sleep(50);
+
+            assertEquals(GatewayOutcome.THROTTLED, gateway.charge(paymentRequest, "txn-other").outcome());
+            assertEquals(GatewayOutcome.APPROVED, slowCall.get().outcome());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void retryWithTheSameKeyReplaysTheSettledCharge() {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(10_000, 0, 0, 1, 20, 0, 0, 10, 100);
+
+        assertEquals(GatewayOutcome.TIMEOUT, gateway.charge(paymentRequest, "txn-1").outcome());
+
+        // The timed-out charge went through, so the retry gets the approval instead of a second charge
+        assertEquals(GatewayOutcome.APPROVED, gateway.charge(paymentRequest, "txn-1").outcome());
+        assertEquals(GatewayOutcome.TIMEOUT, gateway.charge(paymentRequest, "txn-2").outcome());
+    }
+
+    @Test
+    void failedChargesAreNotReplayed() {
+        SimulatedPaymentGateway gateway = gateway(1, 1, 0, 10);
+
+        assertEquals(GatewayOutcome.ERROR, gateway.charge(paymentRequest, "txn-1").outcome());
+        assertEquals(GatewayOutcome.ERROR, gateway.charge(paymentRequest, "txn-1").outcome());
+    }
+
+    private SimulatedPaymentGateway gateway(double latencyMs, double errorRate, double declineRate, int maxConcurrent) {
+        return new SimulatedPaymentGateway(latencyMs, 0, 0, 1, 5_000, errorRate, declineRate, maxConcurrent, 100);
+    }
+}
@@ -0,0 +1,80 @@
+package com.project.paymentservice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    @Test
+    void idsAreUniqueAndIncreasingAcrossThreads() throws Exception {
+        TransactionIdGenerator generator = new TransactionIdGenerator(7);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    String previous = "";
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        String id = generator.nextTransactionId();
+                        assertTrue(id.compareTo(previous) > 0, id + " is not after " + previous);
+                        ids.add(id);
+                        previous = id;
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+    }
+
+    @Test
+    void frozenOrBackwardsClockStillYieldsIncreasingIds() {
+        AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+        TransactionIdGenerator generator = new TransactionIdGenerator(1, clock::get);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 20_000; i++) {
+            if (i == 10_000) {
+                clock.addAndGet(-5_000);
+            }
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void formatIsFixedWidthCrockfordBase32() {
+        String id = new TransactionIdGenerator(1023).nextTransactionId();
+
+        assertTrue(id.matches("TXN_[0-9A-HJKMNP-TV-Z]{13}"), id);
+        assertThrows(IllegalArgumentException.class, () -> new TransactionIdGenerator(1024));
+    }
+}
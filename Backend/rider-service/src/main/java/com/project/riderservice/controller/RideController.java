@@ -4,11 +4,14 @@ import com.project.riderservice.dtos.CreateRideRequestDto;
 import com.project.riderservice.dtos.RateDriverRequestDto;
 import com.project.riderservice.dtos.RideBookingResponseDto;
 import com.project.riderservice.dtos.RideDto;
+import com.project.riderservice.dtos.RidePageDto;
+import com.project.riderservice.dtos.RideSummaryDto;
 import com.project.riderservice.exception.InvalidRideStateException;
 import com.project.riderservice.service.RideService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,13 +27,54 @@ public class RideController {
     private final RideService rideService;
 
     @PostMapping
-    public ResponseEntity<RideBookingResponseDto> bookRide(@Valid @RequestBody CreateRideRequestDto createRideRequest) {
+    public ResponseEntity<RideBookingResponseDto> bookRide(@Valid @RequestBody CreateRideRequestDto createRideRequest,
+                                                           @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
         log.info("Book ride request received for customer: {}", createRideRequest.getCustomerId());
 
-        RideBookingResponseDto response = rideService.bookRide(createRideRequest);
+        RideBookingResponseDto response = rideService.bookRide(createRideRequest, authorization);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<RidePageDto> getRidePage(@RequestParam(required = false) Long customerId,
+                                                   @RequestParam(required = false) Long driverId,
+                                                   @RequestParam int limit,
+                                                   @RequestParam(required = false) String cursor) {
+        log.info("Get ride page request received - customerId: {}, driverId: {}, limit: {}", customerId, driverId, limit);
+
+        try {
+            RidePageDto page = rideService.getRidePage(customerId, driverId, limit, cursor);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejecting ride page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<RideSummaryDto> getCustomerRideSummary(@RequestParam Long customerId) {
+        log.info("Get ride summary request received for customer: {}", customerId);
+
+        RideSummaryDto summary = rideService.getCustomerRideSummary(customerId);
+        return ResponseEntity.ok(summary);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<RideDto>> getRidesByIds(@RequestParam List<Long> ids) {
+        log.info("Get rides by ids request received for {} ids", ids.size());
+
+        List<RideDto> rides = rideService.getRidesByIds(ids);
+        return ResponseEntity.ok(rides);
+    }
+
+    @GetMapping(params = {"ids", "details=true"})
+    public ResponseEntity<List<RideBookingResponseDto>> getRideDetailsByIds(@RequestParam List<Long> ids) {
+        log.info("Get ride details by ids request received for {} ids", ids.size());
+
+        List<RideBookingResponseDto> rides = rideService.getRideDetailsByIds(ids);
+        return ResponseEntity.ok(rides);
+    }
+
     @GetMapping
     public ResponseEntity<List<RideDto>> getRides(@RequestParam(required = false) Long customerId,
                                                   @RequestParam(required = false) Long driverId) {
@@ -57,6 +101,22 @@ public class RideController {
         return ResponseEntity.ok(ride);
     }
 
+    @PutMapping("/{rideId}/complete")
+    public ResponseEntity<RideDto> completeRide(@PathVariable Long rideId) throws InvalidRideStateException {
+        log.info("Complete ride request received for ride: {}", rideId);
+
+        RideDto ride = rideService.completeRide(rideId);
+        return ResponseEntity.ok(ride);
+    }
+
+    @PutMapping("/{rideId}/cancel")
+    public ResponseEntity<RideDto> cancelRide(@PathVariable Long rideId) throws InvalidRideStateException {
+        log.info("Cancel ride request received for ride: {}", rideId);
+
+        RideDto ride = rideService.cancelRide(rideId);
+        return ResponseEntity.ok(ride);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<RideDto> getRideById(@PathVariable Long id) {
         log.info("Get ride by ID request received: {}", id);
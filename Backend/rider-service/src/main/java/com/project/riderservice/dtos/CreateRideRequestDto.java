@@ -1,6 +1,8 @@
 package com.project.riderservice.dtos;
 
 import com.project.riderservice.enums.RideType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -27,4 +29,16 @@ public class CreateRideRequestDto {
 
     @NotNull(message = "Ride type is required")
     private RideType rideType;
+
+    @DecimalMin(value = "-90.0", message = "Pickup latitude must be at least -90")
+    @DecimalMax(value = "90.0", message = "Pickup latitude must not exceed 90")
+    private Double pickupLatitude;
+
+    @DecimalMin(value = "-180.0", message = "Pickup longitude must be at least -180")
+    @DecimalMax(value = "180.0", message = "Pickup longitude must not exceed 180")
+    private Double pickupLongitude;
+
+    // Quote id from a prior fare calculation; lets booking skip re-pricing the route
+    @Size(max = 2048, message = "Quote id must not exceed 2048 characters")
+    private String quoteId;
 }
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
 @Builder
@@ -21,4 +22,5 @@ public class DriverResponseDto {
     private VehicleResponseDto vehicle;
     private LocationResponseDto location;
     private Integer totalRides;
+    private LocalDateTime lastTripEndedAt;
 }
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
 @Builder
@@ -18,4 +19,8 @@ public class FareCalculationResponseDto {
     private BigDecimal baseFare;
     private BigDecimal pricePerMile;
     private String rideType;
+    private Double pickupLatitude;
+    private Double pickupLongitude;
+    private String quoteId;
+    private LocalDateTime quoteExpiresAt;
 }
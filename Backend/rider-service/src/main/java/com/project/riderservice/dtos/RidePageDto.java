@@ -0,0 +1,18 @@
+package com.project.riderservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RidePageDto {
+    private List<RideDto> rides;
+    // Null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,20 @@
+package com.project.riderservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RideSummaryDto {
+    private long totalRides;
+    private long completedRides;
+    private long activeRides;
+    // Average of the ratings the customer gave; null when no ride was rated
+    private Double averageDriverRating;
+    // Most recent CONFIRMED or IN_PROGRESS ride, null when there is none
+    private RideDto activeRide;
+}
@@ -0,0 +1,15 @@
+package com.project.riderservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationDto {
+    private Long userId;
+    private Long revokedBeforeMs;
+}
@@ -14,7 +14,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "rides")
+@Table(name = "rides", indexes = {
+        @Index(name = "idx_rides_customer_history", columnList = "customer_id, created_date, id"),
+        @Index(name = "idx_rides_driver_history", columnList = "driver_id, created_date, id"),
+        @Index(name = "idx_rides_history", columnList = "created_date, id"),
+        @Index(name = "idx_rides_status", columnList = "status")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -3,11 +3,15 @@ package com.project.riderservice.repository;
 import com.project.riderservice.entity.Ride;
 import com.project.riderservice.enums.RideStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RideRepository extends JpaRepository<Ride, Long> {
@@ -18,6 +22,22 @@ public interface RideRepository extends JpaRepository<Ride, Long> {
 
     List<Ride> findByStatus(RideStatus status);
 
+    // Keyset pages: the row-value comparison lets Postgres start the index scan right at the cursor
+    @Query(value = "SELECT * FROM rides WHERE customer_id = :customerId AND (created_date, id) < (:createdDate, :id) " +
+            "ORDER BY created_date DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Ride> findCustomerHistoryPage(@Param("customerId") Long customerId, @Param("createdDate") LocalDateTime createdDate,
+                                       @Param("id") long id, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM rides WHERE driver_id = :driverId AND (created_date, id) < (:createdDate, :id) " +
+            "ORDER BY created_date DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Ride> findDriverHistoryPage(@Param("driverId") Long driverId, @Param("createdDate") LocalDateTime createdDate,
+                                     @Param("id") long id, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM rides WHERE (created_date, id) < (:createdDate, :id) " +
+            "ORDER BY created_date DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Ride> findHistoryPage(@Param("createdDate") LocalDateTime createdDate, @Param("id") long id,
+                               @Param("limit") int limit);
+
     @Query("SELECT r FROM Ride r WHERE r.customerId = :customerId AND r.status = :status ORDER BY r.createdDate DESC")
     List<Ride> findByCustomerIdAndStatus(@Param("customerId") Long customerId, @Param("status") RideStatus status);
 
@@ -27,6 +47,46 @@ public interface RideRepository extends JpaRepository<Ride, Long> {
     @Query("SELECT COUNT(r) FROM Ride r WHERE r.customerId = :customerId")
     Long countByCustomerId(@Param("customerId") Long customerId);
 
+    // One pass over the customer's history index instead of loading every ride to count it
+    @Query("SELECT COUNT(r) AS totalRides, " +
+            "COALESCE(SUM(CASE WHEN r.status = com.project.riderservice.enums.RideStatus.COMPLETED THEN 1 ELSE 0 END), 0) AS completedRides, " +
+            "COALESCE(SUM(CASE WHEN r.status IN (com.project.riderservice.enums.RideStatus.CONFIRMED, " +
+            "com.project.riderservice.enums.RideStatus.IN_PROGRESS) THEN 1 ELSE 0 END), 0) AS activeRides, " +
+            "AVG(CASE WHEN r.driverRating > 0 THEN r.driverRating END) AS averageDriverRating " +
+            "FROM Ride r WHERE r.customerId = :customerId")
+    CustomerRideStats summarizeByCustomerId(@Param("customerId") Long customerId);
+
+    Optional<Ride> findFirstByCustomerIdAndStatusInOrderByCreatedDateDesc(Long customerId, Collection<RideStatus> statuses);
+
     @Query("SELECT COUNT(r) FROM Ride r WHERE r.driverId = :driverId")
     Long countByDriverId(@Param("driverId") Long driverId);
+
+    // Conditional transitions: the affected row count tells the caller whether it won the state change
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Ride r SET r.status = com.project.riderservice.enums.RideStatus.CONFIRMED, r.driverId = :driverId, " +
+            "r.driverName = :driverName, r.updatedDate = :updatedDate " +
+            "WHERE r.id = :id AND r.status = com.project.riderservice.enums.RideStatus.REQUESTED")
+    int confirmDriver(@Param("id") Long id, @Param("driverId") Long driverId, @Param("driverName") String driverName,
+                      @Param("updatedDate") LocalDateTime updatedDate);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Ride r SET r.status = :targetStatus, r.completionTime = :completionTime, r.updatedDate = :updatedDate " +
+            "WHERE r.id = :id AND r.status IN :allowedStatuses")
+    int transitionStatus(@Param("id") Long id, @Param("allowedStatuses") Collection<RideStatus> allowedStatuses,
+                         @Param("targetStatus") RideStatus targetStatus, @Param("completionTime") LocalDateTime completionTime,
+                         @Param("updatedDate") LocalDateTime updatedDate);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Ride r WHERE r.id = :id AND r.status = com.project.riderservice.enums.RideStatus.REQUESTED")
+    int deleteUnassigned(@Param("id") Long id);
+
+    interface CustomerRideStats {
+        long getTotalRides();
+
+        long getCompletedRides();
+
+        long getActiveRides();
+
+        Double getAverageDriverRating();
+    }
 }
@@ -0,0 +1,53 @@
+package com.project.riderservice.service;
+
+import com.project.riderservice.dtos.CreateRideRequestDto;
+import com.project.riderservice.dtos.RideBookingResponseDto;
+import com.project.riderservice.dtos.UserResponseDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffers booking requests for the batch dispatch mode until the next dispatch window.
+ */
+@Component
+public class DispatchBatcher {
+
+    private final Queue<PendingBooking> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public CompletableFuture<RideBookingResponseDto> submit(CreateRideRequestDto rideRequest, UserResponseDto verifiedCustomer) {
+        PendingBooking booking = new PendingBooking(rideRequest, verifiedCustomer, new CompletableFuture<>());
+        pending.add(booking);
+        size.incrementAndGet();
+        return booking.result();
+    }
+
+    public List<PendingBooking> drain(int maxBatchSize) {
+        List<PendingBooking> batch = new ArrayList<>();
+        PendingBooking booking;
+        while (batch.size() < maxBatchSize && (booking = pending.poll()) != null) {
+            size.decrementAndGet();
+            // Callers that already timed out have cancelled their future
+            if (!booking.result().isDone()) {
+                batch.add(booking);
+            }
+        }
+        return batch;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    // verifiedCustomer is null when the caller had no valid token and must be looked up in user-service
+    public record PendingBooking(CreateRideRequestDto rideRequest,
+                                 UserResponseDto verifiedCustomer,
+                                 CompletableFuture<RideBookingResponseDto> result) {
+    }
+}
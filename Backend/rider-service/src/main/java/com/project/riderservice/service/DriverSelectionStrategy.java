@@ -0,0 +1,15 @@
+package com.project.riderservice.service;
+
+import com.project.riderservice.dtos.CreateRideRequestDto;
+import com.project.riderservice.dtos.DriverResponseDto;
+
+import java.util.List;
+
+public interface DriverSelectionStrategy {
+
+    /**
+     * Orders available drivers from best to worst for the given ride request.
+     * At most {@code limit} candidates are returned; booking claims them in order.
+     */
+    List<DriverResponseDto> rank(List<DriverResponseDto> drivers, CreateRideRequestDto rideRequest, int limit);
+}
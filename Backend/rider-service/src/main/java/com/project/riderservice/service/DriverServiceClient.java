@@ -6,17 +6,51 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @FeignClient(name = "driver-service", path = "/api/drivers")
 public interface DriverServiceClient {
 
+    int IDS_PER_REQUEST = 200;
+
     @GetMapping("/available")
     ResponseEntity<List<DriverResponseDto>> getAvailableDrivers();
 
     @GetMapping("/{driverId}")
     ResponseEntity<DriverResponseDto> getDriverById(@PathVariable("driverId") Long driverId);
 
+    @GetMapping
+    ResponseEntity<List<DriverResponseDto>> getDriversByIds(@RequestParam("ids") List<Long> ids);
+
+    /**
+     * Fetches drivers keyed by id, one call per {@value #IDS_PER_REQUEST} ids. Unknown ids are absent from the map.
+     */
+    default Map<Long, DriverResponseDto> getDriversByIdMap(Collection<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, DriverResponseDto> drivers = new LinkedHashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += IDS_PER_REQUEST) {
+            List<DriverResponseDto> chunk = getDriversByIds(
+                    distinctIds.subList(from, Math.min(from + IDS_PER_REQUEST, distinctIds.size()))).getBody();
+            if (chunk != null) {
+                chunk.forEach(driver -> drivers.put(driver.getId(), driver));
+            }
+        }
+        return drivers;
+    }
+
+    @PutMapping("/{driverId}/claim")
+    ResponseEntity<DriverResponseDto> claimDriver(@PathVariable("driverId") Long driverId,
+                                                  @RequestParam("rideId") Long rideId);
+
+    @PutMapping("/{driverId}/release")
+    ResponseEntity<DriverResponseDto> releaseDriver(@PathVariable("driverId") Long driverId,
+                                                    @RequestParam("rideId") Long rideId);
+
     @PutMapping("/{driverId}/rating")
     ResponseEntity<DriverResponseDto> updateDriverRating(@PathVariable("driverId") Long driverId,
                                                          @RequestBody DriverRatingRequestDto ratingRequest);
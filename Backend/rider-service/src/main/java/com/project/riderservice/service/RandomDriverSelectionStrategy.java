@@ -0,0 +1,23 @@
+package com.project.riderservice.service;
+
+import com.project.riderservice.dtos.CreateRideRequestDto;
+import com.project.riderservice.dtos.DriverResponseDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+@ConditionalOnProperty(name = "ride.driver-selection.strategy", havingValue = "random")
+public class RandomDriverSelectionStrategy implements DriverSelectionStrategy {
+
+    @Override
+    public List<DriverResponseDto> rank(List<DriverResponseDto> drivers, CreateRideRequestDto rideRequest, int limit) {
+        List<DriverResponseDto> candidates = new ArrayList<>(drivers);
+        Collections.shuffle(candidates, ThreadLocalRandom.current());
+        return candidates.subList(0, Math.min(limit, candidates.size()));
+    }
+}
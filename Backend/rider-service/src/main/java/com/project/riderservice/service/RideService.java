@@ -7,16 +7,53 @@ import com.project.riderservice.exception.InvalidRideStateException;
 import com.project.riderservice.exception.ResourceNotFoundException;
 import com.project.riderservice.exception.RideBookingException;
 import com.project.riderservice.repository.RideRepository;
+import com.project.riderservice.repository.RideRepository.CustomerRideStats;
+import com.project.riderservice.service.DispatchBatcher.PendingBooking;
+import com.project.riderservice.utils.AuthTokenVerifier;
+import com.project.riderservice.utils.FareQuoteVerifier;
+import com.project.riderservice.utils.GeoUtils;
+import com.project.riderservice.utils.HungarianAlgorithm;
+import com.project.riderservice.utils.RideCursor;
 import com.project.riderservice.utils.RideMapper;
+import feign.FeignException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -24,73 +61,193 @@ import java.util.Random;
 @Transactional
 public class RideService {
 
+    private static final String IMMEDIATE_MODE = "immediate";
+    private static final String BATCH_MODE = "batch";
+    private static final int IN_LIST_CHUNK_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final List<RideStatus> ACTIVE_RIDE_STATUSES = List.of(RideStatus.CONFIRMED, RideStatus.IN_PROGRESS);
+
     private final RideRepository rideRepository;
     private final RideMapper rideMapper;
+    private final UserProfileCache userProfileCache;
     private final UserServiceClient userServiceClient;
     private final DriverServiceClient driverServiceClient;
     private final PaymentServiceClient paymentServiceClient;
+    private final DriverSelectionStrategy driverSelectionStrategy;
+    private final DispatchBatcher dispatchBatcher;
+    private final FareQuoteVerifier fareQuoteVerifier;
+    private final AuthTokenVerifier authTokenVerifier;
+    private final ThreadPoolTaskExecutor bookingExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private Timer bookingTransactionTimer;
+    private DistributionSummary dispatchBatchSize;
+    private Map<String, DistributionSummary> pickupDistanceByMode;
+
+    @Value("${ride.booking.parallel-enabled:true}")
+    private boolean parallelFanOutEnabled;
+
+    @Value("${ride.booking.remote-call-timeout-ms:3000}")
+    private long remoteCallTimeoutMs;
+
+    @Value("${ride.booking.max-claim-attempts:5}")
+    private int maxClaimAttempts;
+
+    @Value("${ride.dispatch.mode:immediate}")
+    private String dispatchMode;
+
+    @Value("${ride.dispatch.max-batch-size:200}")
+    private int maxDispatchBatchSize;
+
+    @Value("${ride.dispatch.max-wait-ms:10000}")
+    private long maxDispatchWaitMs;
+
+    // Cost of pairing a rider with a driver whose distance cannot be computed
+    @Value("${ride.driver-selection.max-pickup-km:10}")
+    private double unknownPickupKm;
+
+    @PostConstruct
+    void registerMetrics() {
+        bookingTransactionTimer = Timer.builder("ride.booking.transaction")
+                .description("Time the booking write transaction holds a database connection")
+                .register(meterRegistry);
+        Gauge.builder("ride.dispatch.pending", dispatchBatcher, DispatchBatcher::size)
+                .description("Bookings waiting for the next dispatch window")
+                .register(meterRegistry);
+        dispatchBatchSize = DistributionSummary.builder("ride.dispatch.batch.size")
+                .description("Bookings assigned together in one dispatch window")
+                .register(meterRegistry);
+        pickupDistanceByMode = Map.of(
+                IMMEDIATE_MODE, pickupDistanceSummary(IMMEDIATE_MODE),
+                BATCH_MODE, pickupDistanceSummary(BATCH_MODE));
+    }
+
+    private DistributionSummary pickupDistanceSummary(String mode) {
+        return DistributionSummary.builder("ride.dispatch.pickup.distance")
+                .description("Pickup distance of assigned drivers; the total is the overall pickup distance")
+                .baseUnit("kilometers")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
 
-    public RideBookingResponseDto bookRide(CreateRideRequestDto createRideRequest) {
+    // Remote calls must not run inside a transaction; only the final insert does
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RideBookingResponseDto bookRide(CreateRideRequestDto createRideRequest, String authorization) {
         log.info("Booking ride for customer: {}", createRideRequest.getCustomerId());
 
-        try {
-            // Step 1: Validate customer
-            ResponseEntity<UserResponseDto> userResponse = userServiceClient.getUserById(createRideRequest.getCustomerId());
-            if (!userResponse.getStatusCode().is2xxSuccessful() || userResponse.getBody() == null) {
-                throw new RideBookingException("Customer not found");
-            }
+        UserResponseDto verifiedCustomer = customerFromToken(authorization, createRideRequest.getCustomerId());
 
-            UserResponseDto customer = userResponse.getBody();
-            if (!"ACTIVE".equals(customer.getStatus())) {
-                throw new RideBookingException("Customer account is not active");
-            }
+        if (BATCH_MODE.equalsIgnoreCase(dispatchMode)) {
+            return awaitBatchDispatch(createRideRequest, verifiedCustomer);
+        }
 
-            // Step 2: Get available drivers
-            ResponseEntity<List<DriverResponseDto>> driversResponse = driverServiceClient.getAvailableDrivers();
-            if (!driversResponse.getStatusCode().is2xxSuccessful() ||
-                    driversResponse.getBody() == null || driversResponse.getBody().isEmpty()) {
-                throw new RideBookingException("No drivers available at the moment");
-            }
+        try {
+            // Steps 1-3: Validate customer, get available drivers and calculate fare
+            BookingInputs inputs = parallelFanOutEnabled
+                    ? fetchBookingInputsInParallel(createRideRequest, verifiedCustomer)
+                    : fetchBookingInputs(createRideRequest, verifiedCustomer);
+
+            UserResponseDto customer = inputs.customer();
+            FareCalculationResponseDto fareCalculation = inputs.fareCalculation();
+            applyPickupCoordinates(createRideRequest, fareCalculation);
+            List<DriverResponseDto> candidates = driverSelectionStrategy.rank(
+                    inputs.availableDrivers(), createRideRequest, maxClaimAttempts);
+
+            // Step 4: Create ride and claim a driver for it
+            RideBookingResponseDto booking = createRide(createRideRequest, customer, fareCalculation, IMMEDIATE_MODE,
+                    rideId -> claimFirstAvailableDriver(candidates, rideId));
+            recordDispatchOutcome(IMMEDIATE_MODE, true);
+            return booking;
 
-            List<DriverResponseDto> availableDrivers = driversResponse.getBody();
-            DriverResponseDto selectedDriver = selectBestDriver(availableDrivers);
+        } catch (Exception e) {
+            log.error("Error booking ride: {}", e.getMessage(), e);
+            recordDispatchOutcome(IMMEDIATE_MODE, false);
+            if (e instanceof RideBookingException) {
+                throw e;
+            }
+            throw new RideBookingException("Failed to book ride: " + e.getMessage());
+        }
+    }
 
-            // Step 3: Calculate fare
-            FareCalculationRequestDto fareRequest = FareCalculationRequestDto.builder()
-                    .pickupLocation(createRideRequest.getPickupLocation())
-                    .destinationLocation(createRideRequest.getDestinationLocation())
-                    .rideType(createRideRequest.getRideType().name())
-                    .build();
+    /**
+     * Drains the bookings buffered since the last window and assigns drivers to the whole
+     * batch at once, minimising the total pickup distance instead of serving riders greedily.
+     */
+    @Scheduled(fixedDelayString = "${ride.dispatch.window-ms:2000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void dispatchPendingBookings() {
+        List<PendingBooking> batch = dispatchBatcher.drain(maxDispatchBatchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
 
-            ResponseEntity<FareCalculationResponseDto> fareResponse = paymentServiceClient.calculateFare(fareRequest);
-            if (!fareResponse.getStatusCode().is2xxSuccessful() || fareResponse.getBody() == null) {
-                throw new RideBookingException("Failed to calculate fare");
-            }
+        log.info("Dispatching batch of {} bookings", batch.size());
+        dispatchBatchSize.record(batch.size());
 
-            FareCalculationResponseDto fareCalculation = fareResponse.getBody();
+        // Steps 1 and 3 per rider, step 2 once for the whole batch
+        List<BatchEntry> entries = fetchRiderInputs(batch);
+        if (entries.isEmpty()) {
+            return;
+        }
 
-            // Step 4: Create ride
-            Ride ride = rideMapper.toEntity(createRideRequest);
-            ride.setDriverId(selectedDriver.getId());
-            ride.setCustomerName(customer.getName());
-            ride.setDriverName(selectedDriver.getName());
-            ride.setStatus(RideStatus.CONFIRMED);
-            ride.setEstimatedFare(fareCalculation.getEstimatedFare());
-            ride.setDistance(fareCalculation.getDistance());
-            ride.setEstimatedDuration(fareCalculation.getEstimatedDuration());
+        List<DriverResponseDto> availableDrivers;
+        try {
+            availableDrivers = fetchAvailableDrivers();
+        } catch (RuntimeException e) {
+            entries.forEach(entry -> failPendingBooking(entry.pending(), e));
+            return;
+        }
 
-            Ride savedRide = rideRepository.save(ride);
+        // Riders whose pickup could not be located stay out of the matching and are ranked like immediate bookings
+        List<Integer> locatedRows = new ArrayList<>(entries.size());
+        for (int row = 0; row < entries.size(); row++) {
+            if (hasPickupCoordinates(entries.get(row).pending().rideRequest())) {
+                locatedRows.add(row);
+            }
+        }
 
-            log.info("Ride booked successfully: {}", savedRide.getId());
+        double[][] pickupCosts = new double[locatedRows.size()][availableDrivers.size()];
+        for (int i = 0; i < locatedRows.size(); i++) {
+            CreateRideRequestDto rideRequest = entries.get(locatedRows.get(i)).pending().rideRequest();
+            for (int col = 0; col < availableDrivers.size(); col++) {
+                double pickupKm = pickupDistanceKm(rideRequest, availableDrivers.get(col));
+                pickupCosts[i][col] = Double.isNaN(pickupKm) ? unknownPickupKm : pickupKm;
+            }
+        }
+        int[] matched = HungarianAlgorithm.solve(pickupCosts);
+        int[] assignment = new int[entries.size()];
+        Arrays.fill(assignment, -1);
+        for (int i = 0; i < locatedRows.size(); i++) {
+            assignment[locatedRows.get(i)] = matched[i];
+        }
 
-            return rideMapper.toBookingResponseDto(savedRide, customer, selectedDriver);
+        // Drivers assigned to other riders are off limits when falling back after a lost claim
+        Set<Long> takenDriverIds = new HashSet<>();
+        for (int col : assignment) {
+            if (col >= 0) {
+                takenDriverIds.add(availableDrivers.get(col).getId());
+            }
+        }
 
-        } catch (Exception e) {
-            log.error("Error booking ride: {}", e.getMessage(), e);
-            if (e instanceof RideBookingException) {
-                throw e;
+        for (int row = 0; row < entries.size(); row++) {
+            BatchEntry entry = entries.get(row);
+            CreateRideRequestDto rideRequest = entry.pending().rideRequest();
+            try {
+                DriverResponseDto assignedDriver = assignment[row] >= 0 ? availableDrivers.get(assignment[row]) : null;
+                RideBookingResponseDto booking = createRide(rideRequest, entry.customer(), entry.fareCalculation(),
+                        BATCH_MODE, rideId -> claimAssignedOrNextDriver(assignedDriver, availableDrivers,
+                                takenDriverIds, rideRequest, rideId));
+                recordDispatchOutcome(BATCH_MODE, true);
+
+                if (!entry.pending().result().complete(booking)) {
+                    // The caller gave up waiting while the ride was being created
+                    log.warn("Booking caller timed out, cancelling ride {}", booking.getRideId());
+                    cancelAbandonedRide(booking.getRideId());
+                }
+            } catch (RuntimeException e) {
+                failPendingBooking(entry.pending(), e);
             }
-            throw new RideBookingException("Failed to book ride: " + e.getMessage());
         }
     }
 
@@ -118,10 +275,19 @@ public class RideService {
 
         if (!RideStatus.COMPLETED.equals(ride.getStatus())) {
             // Auto-complete ride for rating if it's confirmed or in progress
-            if (RideStatus.CONFIRMED.equals(ride.getStatus()) || RideStatus.IN_PROGRESS.equals(ride.getStatus())) {
-                ride.setStatus(RideStatus.COMPLETED);
-                ride.setCompletionTime(LocalDateTime.now());
-            } else {
+            if (!ACTIVE_RIDE_STATUSES.contains(ride.getStatus())) {
+                throw new InvalidRideStateException("Cannot rate driver for ride in current state: " + ride.getStatus());
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            if (rideRepository.transitionStatus(rideId, ACTIVE_RIDE_STATUSES, RideStatus.COMPLETED, now, now) == 1) {
+                // Only the caller that completed the ride releases its driver, and only once this commits
+                releaseDriverAfterCommit(ride.getDriverId(), rideId);
+            }
+
+            ride = rideRepository.findById(rideId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Ride not found with id: " + rideId));
+            if (!RideStatus.COMPLETED.equals(ride.getStatus())) {
                 throw new InvalidRideStateException("Cannot rate driver for ride in current state: " + ride.getStatus());
             }
         }
@@ -153,6 +319,20 @@ public class RideService {
         return rideMapper.toDto(updatedRide);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RideDto completeRide(Long rideId) throws InvalidRideStateException {
+        log.info("Completing ride: {}", rideId);
+
+        return finishRide(rideId, RideStatus.COMPLETED, ACTIVE_RIDE_STATUSES);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RideDto cancelRide(Long rideId) throws InvalidRideStateException {
+        log.info("Cancelling ride: {}", rideId);
+
+        return finishRide(rideId, RideStatus.CANCELLED, List.of(RideStatus.REQUESTED, RideStatus.CONFIRMED));
+    }
+
     @Transactional(readOnly = true)
     public List<RideDto> getAllRides() {
         log.info("Fetching all rides");
@@ -161,6 +341,102 @@ public class RideService {
         return rideMapper.toDtoList(rides);
     }
 
+    /**
+     * One page of ride history, newest first. Cost depends on the page size, not on how long the history is.
+     *
+     * @throws IllegalArgumentException when the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public RidePageDto getRidePage(Long customerId, Long driverId, int limit, String cursor) {
+        log.info("Fetching ride page - customerId: {}, driverId: {}, limit: {}", customerId, driverId, limit);
+
+        RideCursor position = RideCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // One extra row tells us whether another page exists
+        List<Ride> rides;
+        if (customerId != null) {
+            rides = rideRepository.findCustomerHistoryPage(customerId, position.createdDate(), position.id(), pageSize + 1);
+        } else if (driverId != null) {
+            rides = rideRepository.findDriverHistoryPage(driverId, position.createdDate(), position.id(), pageSize + 1);
+        } else {
+            rides = rideRepository.findHistoryPage(position.createdDate(), position.id(), pageSize + 1);
+        }
+
+        String nextCursor = null;
+        if (rides.size() > pageSize) {
+            rides = rides.subList(0, pageSize);
+            Ride last = rides.get(pageSize - 1);
+            nextCursor = new RideCursor(last.getCreatedDate(), last.getId()).encode();
+        }
+
+        return RidePageDto.builder()
+                .rides(rideMapper.toDtoList(rides))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public RideSummaryDto getCustomerRideSummary(Long customerId) {
+        log.info("Fetching ride summary for customer: {}", customerId);
+
+        CustomerRideStats stats = rideRepository.summarizeByCustomerId(customerId);
+        RideDto activeRide = rideRepository.findFirstByCustomerIdAndStatusInOrderByCreatedDateDesc(customerId, ACTIVE_RIDE_STATUSES)
+                .map(rideMapper::toDto)
+                .orElse(null);
+
+        return RideSummaryDto.builder()
+                .totalRides(stats.getTotalRides())
+                .completedRides(stats.getCompletedRides())
+                .activeRides(stats.getActiveRides())
+                .averageDriverRating(stats.getAverageDriverRating())
+                .activeRide(activeRide)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<RideDto> getRidesByIds(List<Long> ids) {
+        log.info("Fetching {} rides by id", ids.size());
+
+        return rideMapper.toDtoList(findRidesByIds(ids));
+    }
+
+    // Customers and drivers are fetched with one bulk call per service, however many rides there are
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<RideBookingResponseDto> getRideDetailsByIds(List<Long> ids) {
+        log.info("Fetching details for {} rides by id", ids.size());
+
+        List<Ride> rides = findRidesByIds(ids);
+        Set<Long> customerIds = new LinkedHashSet<>();
+        Set<Long> driverIds = new LinkedHashSet<>();
+        for (Ride ride : rides) {
+            customerIds.add(ride.getCustomerId());
+            if (ride.getDriverId() != null) {
+                driverIds.add(ride.getDriverId());
+            }
+        }
+
+        Map<Long, UserResponseDto> customers = userServiceClient.getUsersByIdMap(customerIds);
+        Map<Long, DriverResponseDto> drivers = driverServiceClient.getDriversByIdMap(driverIds);
+
+        List<RideBookingResponseDto> details = new ArrayList<>(rides.size());
+        for (Ride ride : rides) {
+            details.add(rideMapper.toRideDetailsDto(ride, customers.get(ride.getCustomerId()),
+                    ride.getDriverId() != null ? drivers.get(ride.getDriverId()) : null));
+        }
+        return details;
+    }
+
+    // One IN query per chunk keeps large lists under the bind-parameter limit
+    private List<Ride> findRidesByIds(List<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Ride> rides = new ArrayList<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += IN_LIST_CHUNK_SIZE) {
+            rides.addAll(rideRepository.findAllById(distinctIds.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, distinctIds.size()))));
+        }
+        return rides;
+    }
+
     @Transactional(readOnly = true)
     public RideDto getRideById(Long id) {
         log.info("Fetching ride by ID: {}", id);
@@ -171,13 +447,390 @@ public class RideService {
         return rideMapper.toDto(ride);
     }
 
-    private DriverResponseDto selectBestDriver(List<DriverResponseDto> drivers) {
-        // Simple selection logic - in real implementation, consider:
-        // 1. Distance from pickup location
-        // 2. Driver rating
-        // 3. Driver availability status
-        // For now, select a random available driver
-        Random random = new Random();
-        return drivers.get(random.nextInt(drivers.size()));
+    private RideBookingResponseDto createRide(CreateRideRequestDto createRideRequest, UserResponseDto customer,
+                                              FareCalculationResponseDto fareCalculation, String mode,
+                                              Function<Long, DriverResponseDto> claimDriverForRide) {
+        Ride ride = rideMapper.toEntity(createRideRequest);
+        ride.setCustomerName(customer.getName());
+        ride.setStatus(RideStatus.REQUESTED);
+        ride.setEstimatedFare(fareCalculation.getEstimatedFare());
+        ride.setDistance(fareCalculation.getDistance());
+        ride.setEstimatedDuration(fareCalculation.getEstimatedDuration());
+
+        // The ride is stored first so the driver claim can be tied to its id
+        Ride requestedRide = bookingTransactionTimer.record(() ->
+                transactionTemplate.execute(status -> rideRepository.save(ride)));
+        Long rideId = requestedRide.getId();
+
+        DriverResponseDto selectedDriver;
+        try {
+            selectedDriver = claimDriverForRide.apply(rideId);
+        } catch (RuntimeException e) {
+            discardUnassignedRide(rideId);
+            throw e;
+        }
+        recordPickupDistance(mode, createRideRequest, selectedDriver);
+
+        Integer confirmed;
+        try {
+            confirmed = bookingTransactionTimer.record(() -> transactionTemplate.execute(status ->
+                    rideRepository.confirmDriver(rideId, selectedDriver.getId(), selectedDriver.getName(),
+                            LocalDateTime.now())));
+        } catch (RuntimeException e) {
+            releaseDriver(selectedDriver.getId(), rideId);
+            discardUnassignedRide(rideId);
+            throw e;
+        }
+        if (confirmed == null || confirmed != 1) {
+            // The ride was cancelled while its driver was being claimed
+            releaseDriver(selectedDriver.getId(), rideId);
+            throw new RideBookingException("Ride " + rideId + " was cancelled before a driver was assigned");
+        }
+
+        requestedRide.setStatus(RideStatus.CONFIRMED);
+        requestedRide.setDriverId(selectedDriver.getId());
+        requestedRide.setDriverName(selectedDriver.getName());
+
+        log.info("Ride booked successfully: {}", rideId);
+
+        return rideMapper.toBookingResponseDto(requestedRide, customer, selectedDriver);
+    }
+
+    private void discardUnassignedRide(Long rideId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> rideRepository.deleteUnassigned(rideId));
+        } catch (RuntimeException e) {
+            log.warn("Failed to discard unassigned ride {}: {}", rideId, e.getMessage());
+        }
+    }
+
+    private RideBookingResponseDto awaitBatchDispatch(CreateRideRequestDto createRideRequest, UserResponseDto verifiedCustomer) {
+        CompletableFuture<RideBookingResponseDto> booking = dispatchBatcher.submit(createRideRequest, verifiedCustomer);
+
+        try {
+            return booking.get(maxDispatchWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            booking.cancel(false);
+            throw new RideBookingException("Timed out waiting for a driver assignment");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RideBookingException bookingException) {
+                throw bookingException;
+            }
+            throw new RideBookingException("Failed to book ride: " + cause.getMessage());
+        } catch (CancellationException e) {
+            throw new RideBookingException("Ride booking was cancelled");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            booking.cancel(false);
+            throw new RideBookingException("Ride booking was interrupted");
+        }
+    }
+
+    private List<BatchEntry> fetchRiderInputs(List<PendingBooking> batch) {
+        List<CompletableFuture<UserResponseDto>> customerCalls = new ArrayList<>(batch.size());
+        List<CompletableFuture<FareCalculationResponseDto>> fareCalls = new ArrayList<>(batch.size());
+        for (PendingBooking pending : batch) {
+            CreateRideRequestDto rideRequest = pending.rideRequest();
+            customerCalls.add(pending.verifiedCustomer() != null
+                    ? CompletableFuture.completedFuture(pending.verifiedCustomer())
+                    : supplyRemote(() -> fetchActiveCustomer(rideRequest.getCustomerId())));
+            fareCalls.add(supplyRemote(() -> fetchFare(rideRequest)));
+        }
+
+        List<BatchEntry> entries = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            PendingBooking pending = batch.get(i);
+            try {
+                FareCalculationResponseDto fareCalculation = fareCalls.get(i).join();
+                applyPickupCoordinates(pending.rideRequest(), fareCalculation);
+                entries.add(new BatchEntry(pending, customerCalls.get(i).join(), fareCalculation));
+            } catch (RuntimeException e) {
+                failPendingBooking(pending, e.getCause() != null ? e.getCause() : e);
+            }
+        }
+        return entries;
+    }
+
+    private <T> CompletableFuture<T> supplyRemote(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, bookingExecutor)
+                    .orTimeout(remoteCallTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new RideBookingException("Booking capacity exceeded, try again"));
+        }
+    }
+
+    private void failPendingBooking(PendingBooking pending, Throwable cause) {
+        log.error("Error booking ride: {}", cause.getMessage());
+        recordDispatchOutcome(BATCH_MODE, false);
+
+        if (cause instanceof TimeoutException) {
+            cause = new RideBookingException("Timed out waiting for booking dependencies");
+        } else if (!(cause instanceof RideBookingException)) {
+            cause = new RideBookingException("Failed to book ride: " + cause.getMessage());
+        }
+        pending.result().completeExceptionally(cause);
+    }
+
+    private void cancelAbandonedRide(Long rideId) {
+        try {
+            finishRide(rideId, RideStatus.CANCELLED, List.of(RideStatus.CONFIRMED));
+        } catch (Exception e) {
+            log.warn("Failed to cancel abandoned ride {}: {}", rideId, e.getMessage());
+        }
+    }
+
+    private DriverResponseDto claimAssignedOrNextDriver(DriverResponseDto assignedDriver,
+                                                        List<DriverResponseDto> availableDrivers,
+                                                        Set<Long> takenDriverIds,
+                                                        CreateRideRequestDto rideRequest, Long rideId) {
+        DriverResponseDto claimed = assignedDriver != null ? tryClaimDriver(assignedDriver, rideId) : null;
+        if (claimed != null) {
+            return claimed;
+        }
+
+        List<DriverResponseDto> remaining = availableDrivers.stream()
+                .filter(driver -> !takenDriverIds.contains(driver.getId()))
+                .toList();
+        claimed = claimFirstAvailableDriver(driverSelectionStrategy.rank(remaining, rideRequest, maxClaimAttempts), rideId);
+        takenDriverIds.add(claimed.getId());
+        return claimed;
+    }
+
+    private DriverResponseDto claimFirstAvailableDriver(List<DriverResponseDto> candidates, Long rideId) {
+        for (DriverResponseDto candidate : candidates) {
+            DriverResponseDto claimed = tryClaimDriver(candidate, rideId);
+            if (claimed != null) {
+                return claimed;
+            }
+        }
+
+        throw new RideBookingException("No drivers available at the moment");
+    }
+
+    private DriverResponseDto tryClaimDriver(DriverResponseDto candidate, Long rideId) {
+        try {
+            ResponseEntity<DriverResponseDto> claimResponse = driverServiceClient.claimDriver(candidate.getId(), rideId);
+            if (claimResponse.getStatusCode().is2xxSuccessful()) {
+                return claimResponse.getBody() != null ? claimResponse.getBody() : candidate;
+            }
+        } catch (FeignException.Conflict e) {
+            log.debug("Driver {} was claimed by another booking, trying next candidate", candidate.getId());
+        }
+        return null;
+    }
+
+    // The booking UI sends place names only; the fare quote carries the pickup's gazetteer coordinates
+    private static void applyPickupCoordinates(CreateRideRequestDto rideRequest, FareCalculationResponseDto fareCalculation) {
+        if (!hasPickupCoordinates(rideRequest)
+                && fareCalculation.getPickupLatitude() != null && fareCalculation.getPickupLongitude() != null) {
+            rideRequest.setPickupLatitude(fareCalculation.getPickupLatitude());
+            rideRequest.setPickupLongitude(fareCalculation.getPickupLongitude());
+        }
+    }
+
+    private static boolean hasPickupCoordinates(CreateRideRequestDto rideRequest) {
+        return rideRequest.getPickupLatitude() != null && rideRequest.getPickupLongitude() != null;
+    }
+
+    private double pickupDistanceKm(CreateRideRequestDto rideRequest, DriverResponseDto driver) {
+        LocationResponseDto location = driver.getLocation();
+        if (!hasPickupCoordinates(rideRequest)
+                || location == null || location.getLatitude() == null || location.getLongitude() == null) {
+            return Double.NaN;
+        }
+
+        return GeoUtils.haversineKm(rideRequest.getPickupLatitude(), rideRequest.getPickupLongitude(),
+                location.getLatitude().doubleValue(), location.getLongitude().doubleValue());
+    }
+
+    private void recordPickupDistance(String mode, CreateRideRequestDto rideRequest, DriverResponseDto driver) {
+        double pickupKm = pickupDistanceKm(rideRequest, driver);
+        if (Double.isNaN(pickupKm)) {
+            return;
+        }
+
+        pickupDistanceByMode.get(mode).record(pickupKm);
+    }
+
+    private void recordDispatchOutcome(String mode, boolean booked) {
+        meterRegistry.counter("ride.dispatch.bookings", "mode", mode, "outcome", booked ? "booked" : "failed")
+                .increment();
+    }
+
+    private void releaseDriver(Long driverId, Long rideId) {
+        if (driverId == null) {
+            return;
+        }
+
+        try {
+            driverServiceClient.releaseDriver(driverId, rideId);
+            log.info("Driver {} released from ride {}", driverId, rideId);
+        } catch (FeignException.Conflict e) {
+            log.info("Driver {} is no longer held by ride {}, nothing to release", driverId, rideId);
+        } catch (Exception e) {
+            log.warn("Failed to release driver {} in driver service: {}", driverId, e.getMessage());
+        }
+    }
+
+    private void releaseDriverAfterCommit(Long driverId, Long rideId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseDriver(driverId, rideId);
+                }
+            });
+        } else {
+            releaseDriver(driverId, rideId);
+        }
+    }
+
+    private RideDto finishRide(Long rideId, RideStatus targetStatus, List<RideStatus> allowedStatuses)
+            throws InvalidRideStateException {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime completionTime = RideStatus.COMPLETED.equals(targetStatus) ? now : null;
+
+        // Conditional UPDATE: of several concurrent or duplicate calls, exactly one moves the ride
+        Integer updated = transactionTemplate.execute(status ->
+                rideRepository.transitionStatus(rideId, allowedStatuses, targetStatus, completionTime, now));
+
+        Ride ride = rideRepository.findById(rideId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ride not found with id: " + rideId));
+        if (updated == null || updated != 1) {
+            throw new InvalidRideStateException("Cannot move ride from " + ride.getStatus() + " to " + targetStatus);
+        }
+
+        releaseDriver(ride.getDriverId(), rideId);
+
+        log.info("Ride {} moved to {}", rideId, targetStatus);
+
+        return rideMapper.toDto(ride);
+    }
+
+    private BookingInputs fetchBookingInputs(CreateRideRequestDto createRideRequest, UserResponseDto verifiedCustomer) {
+        UserResponseDto customer = verifiedCustomer != null
+                ? verifiedCustomer
+                : fetchActiveCustomer(createRideRequest.getCustomerId());
+        List<DriverResponseDto> availableDrivers = fetchAvailableDrivers();
+        FareCalculationResponseDto fareCalculation = fetchFare(createRideRequest);
+
+        return new BookingInputs(customer, availableDrivers, fareCalculation);
+    }
+
+    private BookingInputs fetchBookingInputsInParallel(CreateRideRequestDto createRideRequest,
+                                                       UserResponseDto verifiedCustomer) {
+        CompletionService<Object> completionService = new ExecutorCompletionService<>(bookingExecutor);
+        List<Future<Object>> calls = new ArrayList<>(3);
+
+        try {
+            Future<Object> customerCall = verifiedCustomer != null
+                    ? CompletableFuture.<Object>completedFuture(verifiedCustomer)
+                    : completionService.submit(() -> fetchActiveCustomer(createRideRequest.getCustomerId()));
+            if (verifiedCustomer == null) {
+                calls.add(customerCall);
+            }
+            Future<Object> driversCall = completionService.submit(this::fetchAvailableDrivers);
+            calls.add(driversCall);
+            Future<Object> fareCall = completionService.submit(() -> fetchFare(createRideRequest));
+            calls.add(fareCall);
+
+            // Take results in completion order so the first failure cancels the rest immediately
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(remoteCallTimeoutMs);
+            for (int i = 0; i < calls.size(); i++) {
+                Future<Object> completed = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (completed == null) {
+                    throw new RideBookingException("Timed out waiting for booking dependencies");
+                }
+                completed.get();
+            }
+
+            @SuppressWarnings("unchecked")
+            List<DriverResponseDto> availableDrivers = (List<DriverResponseDto>) driversCall.get();
+            return new BookingInputs((UserResponseDto) customerCall.get(), availableDrivers,
+                    (FareCalculationResponseDto) fareCall.get());
+
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RideBookingException bookingException) {
+                throw bookingException;
+            }
+            throw new RideBookingException("Failed to book ride: " + cause.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RideBookingException("Ride booking was interrupted");
+        } finally {
+            calls.forEach(call -> call.cancel(true));
+        }
+    }
+
+    // A valid token for this customer proves it exists and was ACTIVE at login; revocations cover later deactivation
+    private UserResponseDto customerFromToken(String authorization, Long customerId) {
+        UserResponseDto customer = authTokenVerifier.verify(authorization)
+                .filter(user -> user.getId().equals(customerId) && "ACTIVE".equals(user.getStatus()))
+                .orElse(null);
+
+        meterRegistry.counter("ride.booking.customer.lookup", "source", customer != null ? "token" : "user-service")
+                .increment();
+        return customer;
+    }
+
+    private UserResponseDto fetchActiveCustomer(Long customerId) {
+        UserResponseDto customer = userProfileCache.get(customerId);
+        if (customer == null) {
+            throw new RideBookingException("Customer not found");
+        }
+
+        if (!"ACTIVE".equals(customer.getStatus())) {
+            throw new RideBookingException("Customer account is not active");
+        }
+
+        return customer;
+    }
+
+    private List<DriverResponseDto> fetchAvailableDrivers() {
+        ResponseEntity<List<DriverResponseDto>> driversResponse = driverServiceClient.getAvailableDrivers();
+        if (!driversResponse.getStatusCode().is2xxSuccessful() ||
+                driversResponse.getBody() == null || driversResponse.getBody().isEmpty()) {
+            throw new RideBookingException("No drivers available at the moment");
+        }
+
+        return driversResponse.getBody();
+    }
+
+    private FareCalculationResponseDto fetchFare(CreateRideRequestDto createRideRequest) {
+        if (createRideRequest.getQuoteId() != null) {
+            Optional<FareCalculationResponseDto> quotedFare =
+                    fareQuoteVerifier.verify(createRideRequest.getQuoteId(), createRideRequest);
+            meterRegistry.counter("ride.booking.fare.quote", "result", quotedFare.isPresent() ? "reused" : "rejected")
+                    .increment();
+            if (quotedFare.isPresent()) {
+                return quotedFare.get();
+            }
+        }
+
+        FareCalculationRequestDto fareRequest = FareCalculationRequestDto.builder()
+                .pickupLocation(createRideRequest.getPickupLocation())
+                .destinationLocation(createRideRequest.getDestinationLocation())
+                .rideType(createRideRequest.getRideType().name())
+                .build();
+
+        ResponseEntity<FareCalculationResponseDto> fareResponse = paymentServiceClient.calculateFare(fareRequest);
+        if (!fareResponse.getStatusCode().is2xxSuccessful() || fareResponse.getBody() == null) {
+            throw new RideBookingException("Failed to calculate fare");
+        }
+
+        return fareResponse.getBody();
+    }
+
+    private record BatchEntry(PendingBooking pending,
+                              UserResponseDto customer,
+                              FareCalculationResponseDto fareCalculation) {
+    }
+
+    private record BookingInputs(UserResponseDto customer,
+                                 List<DriverResponseDto> availableDrivers,
+                                 FareCalculationResponseDto fareCalculation) {
     }
 }
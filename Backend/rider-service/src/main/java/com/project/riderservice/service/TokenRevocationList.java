@@ -0,0 +1,60 @@
+package com.project.riderservice.service;
+
+import com.project.riderservice.dtos.TokenRevocationDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local copy of user-service's token revocations, refreshed by polling.
+ * Between polls a deactivated user's token keeps working; the token TTL bounds that window
+ * even if user-service is unreachable. Newly revoked users are also evicted from the
+ * {@link UserProfileCache}, so bookings stop seeing their old status.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationList {
+
+    private final UserServiceClient userServiceClient;
+    private final UserProfileCache userProfileCache;
+
+    private volatile Map<Long, Long> revokedBefore = Map.of();
+
+    @Scheduled(fixedDelayString = "${auth.token.revocation-poll-ms:10000}")
+    public void refresh() {
+        try {
+            ResponseEntity<List<TokenRevocationDto>> response = userServiceClient.getTokenRevocations();
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                log.warn("Keeping previous token revocation list, user-service returned {}", response.getStatusCode());
+                return;
+            }
+
+            Map<Long, Long> refreshed = new ConcurrentHashMap<>();
+            for (TokenRevocationDto revocation : response.getBody()) {
+                refreshed.merge(revocation.getUserId(), revocation.getRevokedBeforeMs(), Math::max);
+            }
+            Map<Long, Long> previous = revokedBefore;
+            revokedBefore = refreshed;
+
+            refreshed.forEach((userId, cutoff) -> {
+                if (!cutoff.equals(previous.get(userId))) {
+                    userProfileCache.invalidate(userId);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Keeping previous token revocation list: {}", e.getMessage());
+        }
+    }
+
+    public boolean isRevoked(long userId, long issuedAtEpochMillis) {
+        Long cutoff = revokedBefore.get(userId);
+        return cutoff != null && issuedAtEpochMillis < cutoff;
+    }
+}
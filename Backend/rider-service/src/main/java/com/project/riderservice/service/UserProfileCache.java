@@ -0,0 +1,154 @@
+package com.project.riderservice.service;
+
+import com.project.riderservice.dtos.UserResponseDto;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side cache of user profiles from user-service.
+ * Entries are fresh for {@code ttl-ms}; for a further {@code stale-ms} they are still served
+ * while a background refresh runs, so a hot customer never waits on user-service.
+ * Users whose tokens are revoked are dropped straight away (see {@link TokenRevocationList}).
+ */
+@Component
+@Slf4j
+public class UserProfileCache {
+
+    private final UserServiceClient userServiceClient;
+    private final ThreadPoolTaskExecutor bookingExecutor;
+    private final long ttlMs;
+    private final long staleMs;
+    private final int maxSize;
+    private final Map<Long, CachedUser> users;
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+    // Bumped on every invalidation so a load or refresh that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public UserProfileCache(UserServiceClient userServiceClient,
+                            ThreadPoolTaskExecutor bookingExecutor,
+                            MeterRegistry meterRegistry,
+                            @Value("${ride.user-cache.ttl-ms:30000}") long ttlMs,
+                            @Value("${ride.user-cache.stale-ms:60000}") long staleMs,
+                            @Value("${ride.user-cache.max-size:10000}") int maxSize) {
+        this.userServiceClient = userServiceClient;
+        this.bookingExecutor = bookingExecutor;
+        this.ttlMs = ttlMs;
+        this.staleMs = staleMs;
+        this.maxSize = maxSize;
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedUser> eldest) {
+                if (size() > UserProfileCache.this.maxSize) {
+                    UserProfileCache.this.evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = Counter.builder("ride.user.cache").tag("result", "hit").register(meterRegistry);
+        this.staleHits = Counter.builder("ride.user.cache").tag("result", "stale").register(meterRegistry);
+        this.misses = Counter.builder("ride.user.cache").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("ride.user.cache.evictions").register(meterRegistry);
+        Gauge.builder("ride.user.cache.size", this, UserProfileCache::size).register(meterRegistry);
+    }
+
+    /**
+     * @return the user, or null when user-service has no such user
+     */
+    public UserResponseDto get(Long userId) {
+        long now = System.currentTimeMillis();
+        CachedUser cached;
+        synchronized (users) {
+            cached = users.get(userId);
+        }
+
+        if (cached != null) {
+            long age = now - cached.loadedAtMillis();
+            if (age < ttlMs) {
+                hits.increment();
+                return cached.user();
+            }
+            if (age < ttlMs + staleMs) {
+                staleHits.increment();
+                refreshInBackground(userId);
+                return cached.user();
+            }
+        }
+
+        misses.increment();
+        return load(userId);
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (users) {
+            generation.incrementAndGet();
+            users.remove(userId);
+        }
+    }
+
+    public int size() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+
+    private UserResponseDto load(Long userId) {
+        long loadGeneration = generation.get();
+        UserResponseDto user;
+        try {
+            user = userServiceClient.getUserById(userId).getBody();
+        } catch (FeignException.NotFound e) {
+            user = null;
+        }
+
+        synchronized (users) {
+            if (user == null) {
+                users.remove(userId);
+            } else if (generation.get() == loadGeneration) {
+                users.put(userId, new CachedUser(user, System.currentTimeMillis()));
+            }
+        }
+        return user;
+    }
+
+    private void refreshInBackground(Long userId) {
+        // One refresh per user at a time, however many bookings see the stale entry
+        if (!refreshing.add(userId)) {
+            return;
+        }
+
+        try {
+            bookingExecutor.execute(() -> {
+                try {
+                    load(userId);
+                } catch (Exception e) {
+                    log.debug("Background refresh of user {} failed: {}", userId, e.getMessage());
+                } finally {
+                    refreshing.remove(userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(userId);
+        }
+    }
+
+    private record CachedUser(UserResponseDto user, long loadedAtMillis) {
+    }
+}
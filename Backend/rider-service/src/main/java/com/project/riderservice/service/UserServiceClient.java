@@ -1,14 +1,47 @@
 package com.project.riderservice.service;
 
+import com.project.riderservice.dtos.TokenRevocationDto;
 import com.project.riderservice.dtos.UserResponseDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 @FeignClient(name = "user-service", path = "/api/users")
 public interface UserServiceClient {
 
+    int IDS_PER_REQUEST = 200;
+
     @GetMapping("/{userId}")
     ResponseEntity<UserResponseDto> getUserById(@PathVariable("userId") Long userId);
+
+    @GetMapping
+    ResponseEntity<List<UserResponseDto>> getUsersByIds(@RequestParam("ids") List<Long> ids);
+
+    /**
+     * Fetches users keyed by id, one call per {@value #IDS_PER_REQUEST} ids. Unknown ids are absent from the map.
+     */
+    default Map<Long, UserResponseDto> getUsersByIdMap(Collection<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, UserResponseDto> users = new LinkedHashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += IDS_PER_REQUEST) {
+            List<UserResponseDto> chunk = getUsersByIds(
+                    distinctIds.subList(from, Math.min(from + IDS_PER_REQUEST, distinctIds.size()))).getBody();
+            if (chunk != null) {
+                chunk.forEach(user -> users.put(user.getId(), user));
+            }
+        }
+        return users;
+    }
+
+    @GetMapping("/token-revocations")
+    ResponseEntity<List<TokenRevocationDto>> getTokenRevocations();
 }
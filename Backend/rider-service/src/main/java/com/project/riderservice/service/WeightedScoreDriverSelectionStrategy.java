@@ -0,0 +1,106 @@
+package com.project.riderservice.service;
+
+import com.project.riderservice.dtos.CreateRideRequestDto;
+import com.project.riderservice.dtos.DriverResponseDto;
+import com.project.riderservice.dtos.LocationResponseDto;
+import com.project.riderservice.utils.GeoUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Scores each driver as a weighted sum of pickup proximity, rating and idle time,
+ * each normalised to [0, 1]. Scoring works on one primitive array per call and
+ * allocates nothing per candidate.
+ */
+@Component
+@ConditionalOnProperty(name = "ride.driver-selection.strategy", havingValue = "weighted", matchIfMissing = true)
+public class WeightedScoreDriverSelectionStrategy implements DriverSelectionStrategy {
+
+    private static final double NEUTRAL = 0.5;
+    private static final double MAX_RATING = 5.0;
+
+    private final double distanceWeight;
+    private final double ratingWeight;
+    private final double idleWeight;
+    private final double maxPickupKm;
+    private final double maxIdleSeconds;
+
+    public WeightedScoreDriverSelectionStrategy(@Value("${ride.driver-selection.weights.distance:0.6}") double distanceWeight,
+                                                @Value("${ride.driver-selection.weights.rating:0.25}") double ratingWeight,
+                                                @Value("${ride.driver-selection.weights.idle:0.15}") double idleWeight,
+                                                @Value("${ride.driver-selection.max-pickup-km:10}") double maxPickupKm,
+                                                @Value("${ride.driver-selection.max-idle-minutes:60}") double maxIdleMinutes) {
+        this.distanceWeight = distanceWeight;
+        this.ratingWeight = ratingWeight;
+        this.idleWeight = idleWeight;
+        this.maxPickupKm = maxPickupKm;
+        this.maxIdleSeconds = maxIdleMinutes * 60;
+    }
+
+    @Override
+    public List<DriverResponseDto> rank(List<DriverResponseDto> drivers, CreateRideRequestDto rideRequest, int limit) {
+        int size = drivers.size();
+        int picks = Math.min(limit, size);
+        if (picks <= 0) {
+            return Collections.emptyList();
+        }
+
+        boolean hasPickup = rideRequest != null
+                && rideRequest.getPickupLatitude() != null && rideRequest.getPickupLongitude() != null;
+        double pickupLatitude = hasPickup ? rideRequest.getPickupLatitude() : 0;
+        double pickupLongitude = hasPickup ? rideRequest.getPickupLongitude() : 0;
+        long nowEpochSeconds = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+
+        double[] scores = new double[size];
+        for (int i = 0; i < size; i++) {
+            scores[i] = score(drivers.get(i), hasPickup, pickupLatitude, pickupLongitude, nowEpochSeconds);
+        }
+
+        // Partial selection: only the few candidates booking will actually try are ordered
+        List<DriverResponseDto> ranked = new ArrayList<>(picks);
+        for (int pick = 0; pick < picks; pick++) {
+            int best = -1;
+            for (int i = 0; i < size; i++) {
+                if (best < 0 || scores[i] > scores[best]) {
+                    best = i;
+                }
+            }
+            ranked.add(drivers.get(best));
+            scores[best] = Double.NEGATIVE_INFINITY;
+        }
+
+        return ranked;
+    }
+
+    double score(DriverResponseDto driver, boolean hasPickup, double pickupLatitude, double pickupLongitude,
+                 long nowEpochSeconds) {
+        double proximity = NEUTRAL;
+        LocationResponseDto location = driver.getLocation();
+        if (hasPickup && location != null && location.getLatitude() != null && location.getLongitude() != null) {
+            double pickupKm = GeoUtils.haversineKm(pickupLatitude, pickupLongitude,
+                    location.getLatitude().doubleValue(), location.getLongitude().doubleValue());
+            proximity = 1.0 - Math.min(pickupKm / maxPickupKm, 1.0);
+        }
+
+        // Unrated drivers are scored as average rather than as zero stars
+        double rating = NEUTRAL;
+        if (driver.getRating() != null && driver.getTotalRides() != null && driver.getTotalRides() > 0) {
+            rating = Math.min(driver.getRating().doubleValue() / MAX_RATING, 1.0);
+        }
+
+        double idle = 1.0;
+        if (driver.getLastTripEndedAt() != null) {
+            long idleSeconds = nowEpochSeconds - driver.getLastTripEndedAt().toEpochSecond(ZoneOffset.UTC);
+            idle = Math.min(Math.max(idleSeconds, 0) / maxIdleSeconds, 1.0);
+        }
+
+        return distanceWeight * proximity + ratingWeight * rating + idleWeight * idle;
+    }
+}
@@ -0,0 +1,105 @@
+package com.project.riderservice.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.riderservice.dtos.UserResponseDto;
+import com.project.riderservice.service.TokenRevocationList;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Verifies the HS256 tokens issued by user-service at login. Shares {@code auth.token.secret} with user-service.
+ */
+@Component
+@Slf4j
+public class AuthTokenVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final ObjectMapper objectMapper;
+    private final TokenRevocationList tokenRevocationList;
+    private final SecretKeySpec key;
+
+    public AuthTokenVerifier(ObjectMapper objectMapper, TokenRevocationList tokenRevocationList,
+                             @Value("${auth.token.secret}") String secret) {
+        this.objectMapper = objectMapper;
+        this.tokenRevocationList = tokenRevocationList;
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        // No default key: a missing or short secret would let anyone mint tokens
+        if (secretBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("auth.token.secret must be set to at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+    }
+
+    /**
+     * @return the token's user when the Authorization header carries an authentic, unexpired, unrevoked token
+     */
+    public Optional<UserResponseDto> verify(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return Optional.empty();
+        }
+
+        String token = authorizationHeader.substring(BEARER_PREFIX.length()).trim();
+        int signatureStart = token.lastIndexOf('.');
+        int claimsStart = token.indexOf('.');
+        if (claimsStart <= 0 || signatureStart == claimsStart || signatureStart == token.length() - 1) {
+            return Optional.empty();
+        }
+
+        try {
+            String signingInput = token.substring(0, signatureStart);
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(signatureStart + 1));
+
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] expected = mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+            if (!MessageDigest.isEqual(expected, signature)) {
+                log.debug("Rejecting auth token with invalid signature");
+                return Optional.empty();
+            }
+
+            AuthTokenClaims claims = objectMapper.readValue(
+                    Base64.getUrlDecoder().decode(token.substring(claimsStart + 1, signatureStart)), AuthTokenClaims.class);
+            long userId = Long.parseLong(claims.sub());
+            if (claims.exp() <= Instant.now().getEpochSecond() || tokenRevocationList.isRevoked(userId, claims.iatMs())) {
+                log.debug("Rejecting expired or revoked auth token for user {}", userId);
+                return Optional.empty();
+            }
+
+            return Optional.of(UserResponseDto.builder()
+                    .id(userId)
+                    .username(claims.username())
+                    .name(claims.name())
+                    .email(claims.email())
+                    .role(claims.role())
+                    .status(claims.status())
+                    .build());
+
+        } catch (Exception e) {
+            log.debug("Rejecting malformed auth token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    record AuthTokenClaims(String sub,
+                           String username,
+                           String name,
+                           String email,
+                           String role,
+                           String status,
+                           long iat,
+                           long iatMs,
+                           long exp) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.riderservice.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.riderservice.dtos.CreateRideRequestDto;
+import com.project.riderservice.dtos.FareCalculationResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Verifies quote ids issued by payment-service's fare calculation, so a booking can reuse
+ * the quoted fare instead of pricing the route again. Shares {@code fare.quote.secret} with payment-service.
+ */
+@Component
+@Slf4j
+public class FareQuoteVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec key;
+
+    public FareQuoteVerifier(ObjectMapper objectMapper, @Value("${fare.quote.secret}") String secret) {
+        this.objectMapper = objectMapper;
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        // No default key: a missing or short secret would let clients mint quotes at any fare
+        if (secretBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("fare.quote.secret must be set to at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+    }
+
+    /**
+     * @return the quoted fare when the quote id is authentic, unexpired and priced this exact route
+     */
+    public Optional<FareCalculationResponseDto> verify(String quoteId, CreateRideRequestDto rideRequest) {
+        if (quoteId == null || quoteId.isBlank()) {
+            return Optional.empty();
+        }
+
+        int separator = quoteId.indexOf('.');
+        if (separator <= 0 || separator == quoteId.length() - 1) {
+            return Optional.empty();
+        }
+
+        try {
+            String payload = quoteId.substring(0, separator);
+            byte[] signature = Base64.getUrlDecoder().decode(quoteId.substring(separator + 1));
+
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] expected = mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+            if (!MessageDigest.isEqual(expected, signature)) {
+                log.debug("Rejecting fare quote with invalid signature");
+                return Optional.empty();
+            }
+
+            FareQuoteClaims claims = objectMapper.readValue(Base64.getUrlDecoder().decode(payload), FareQuoteClaims.class);
+            if (claims.expiresAt() <= Instant.now().getEpochSecond()
+                    || !matches(claims.pickupLocation(), rideRequest.getPickupLocation())
+                    || !matches(claims.destinationLocation(), rideRequest.getDestinationLocation())
+                    || !rideRequest.getRideType().name().equalsIgnoreCase(claims.rideType())) {
+                log.debug("Rejecting fare quote that is expired or priced a different route");
+                return Optional.empty();
+            }
+
+            return Optional.of(FareCalculationResponseDto.builder()
+                    .estimatedFare(claims.estimatedFare())
+                    .distance(claims.distance())
+                    .estimatedDuration(claims.estimatedDuration())
+                    .baseFare(claims.baseFare())
+                    .pricePerMile(claims.pricePerMile())
+                    .rideType(claims.rideType())
+                    .pickupLatitude(claims.pickupLatitude())
+                    .pickupLongitude(claims.pickupLongitude())
+                    .quoteId(quoteId)
+                    .quoteExpiresAt(LocalDateTime.ofInstant(Instant.ofEpochSecond(claims.expiresAt()), ZoneId.systemDefault()))
+                    .build());
+
+        } catch (Exception e) {
+            log.debug("Rejecting malformed fare quote: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private boolean matches(String quoted, String requested) {
+        return quoted != null && requested != null && quoted.trim().equalsIgnoreCase(requested.trim());
+    }
+
+    record FareQuoteClaims(String pickupLocation,
+                           String destinationLocation,
+                           String rideType,
+                           BigDecimal estimatedFare,
+                           BigDecimal distance,
+                           Integer estimatedDuration,
+                           BigDecimal baseFare,
+                           BigDecimal pricePerMile,
+                           Double pickupLatitude,
+                           Double pickupLongitude,
+                           long expiresAt) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.project.riderservice.utils;
+
+import java.util.Arrays;
+
+/**
+ * Minimum-cost assignment of rows to columns (Kuhn-Munkres with potentials, O(n^2 m)).
+ * Rectangular matrices are supported; when there are more rows than columns the
+ * surplus rows are left unassigned.
+ */
+public final class HungarianAlgorithm {
+
+    private static final double UNASSIGNED_COST = 1e9;
+
+    private HungarianAlgorithm() {
+    }
+
+    /**
+     * @return for each row the assigned column index, or -1 when the row could not be assigned
+     */
+    public static int[] solve(double[][] cost) {
+        int rows = cost.length;
+        if (rows == 0) {
+            return new int[0];
+        }
+
+        int cols = cost[0].length;
+        int width = Math.max(rows, cols);
+
+        // 1-based arrays as in the classic formulation; column 0 is the virtual root
+        double[] u = new double[rows + 1];
+        double[] v = new double[width + 1];
+        int[] match = new int[width + 1];
+        int[] way = new int[width + 1];
+        double[] minReduced = new double[width + 1];
+        boolean[] used = new boolean[width + 1];
+
+        for (int row = 1; row <= rows; row++) {
+            match[0] = row;
+            int col0 = 0;
+            Arrays.fill(minReduced, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+
+            do {
+                used[col0] = true;
+                int row0 = match[col0];
+                int col1 = 0;
+                double delta = Double.POSITIVE_INFINITY;
+
+                for (int col = 1; col <= width; col++) {
+                    if (used[col]) {
+                        continue;
+                    }
+                    double reduced = costAt(cost, row0 - 1, col - 1, cols) - u[row0] - v[col];
+                    if (reduced < minReduced[col]) {
+                        minReduced[col] = reduced;
+                        way[col] = col0;
+                    }
+                    if (minReduced[col] < delta) {
+                        delta = minReduced[col];
+                        col1 = col;
+                    }
+                }
+
+                for (int col = 0; col <= width; col++) {
+                    if (used[col]) {
+                        u[match[col]] += delta;
+                        v[col] -= delta;
+                    } else {
+                        minReduced[col] -= delta;
+                    }
+                }
+                col0 = col1;
+            } while (match[col0] != 0);
+
+            do {
+                int col1 = way[col0];
+                match[col0] = match[col1];
+                col0 = col1;
+            } while (col0 != 0);
+        }
+
+        int[] assignment = new int[rows];
+        Arrays.fill(assignment, -1);
+        for (int col = 1; col <= cols; col++) {
+            if (match[col] != 0) {
+                assignment[match[col] - 1] = col - 1;
+            }
+        }
+        return assignment;
+    }
+
+    private static double costAt(double[][] cost, int row, int col, int cols) {
+        return col < cols ? cost[row][col] : UNASSIGNED_COST;
+    }
+}
@@ -63,6 +63,15 @@ public class RideMapper {
     }
 
     public RideBookingResponseDto toBookingResponseDto(Ride ride, UserResponseDto customer, DriverResponseDto driver) {
+        return toResponseDto(ride, customer, driver, "Ride booked successfully!");
+    }
+
+    public RideBookingResponseDto toRideDetailsDto(Ride ride, UserResponseDto customer, DriverResponseDto driver) {
+        return toResponseDto(ride, customer, driver, null);
+    }
+
+    private RideBookingResponseDto toResponseDto(Ride ride, UserResponseDto customer, DriverResponseDto driver,
+                                                 String message) {
         if (ride == null) {
             return null;
         }
@@ -99,7 +108,7 @@ public class RideMapper {
                 .distance(ride.getDistance())
                 .estimatedDuration(ride.getEstimatedDuration())
                 .bookingTime(ride.getCreatedDate())
-                .message("Ride booked successfully!")
+                .message(message)
                 .driverDetails(driverDetails)
                 .build();
     }
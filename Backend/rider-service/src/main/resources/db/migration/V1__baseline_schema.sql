@@ -0,0 +1,34 @@
+-- Baseline schema for ride-service. Replaces spring.jpa.hibernate.ddl-auto=create-drop;
+-- Hibernate now only validates the entities against these tables.
+
+CREATE TABLE rides (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    customer_id          BIGINT       NOT NULL,
+    driver_id            BIGINT,
+    customer_name        VARCHAR(100),
+    driver_name          VARCHAR(100),
+    pickup_location      VARCHAR(255) NOT NULL,
+    destination_location VARCHAR(255) NOT NULL,
+    status               VARCHAR(20)  NOT NULL DEFAULT 'REQUESTED'
+        CHECK (status IN ('REQUESTED', 'CONFIRMED', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED')),
+    ride_type            VARCHAR(20)  NOT NULL CHECK (ride_type IN ('ECONOMY', 'PREMIUM', 'LUXURY')),
+    estimated_fare       NUMERIC(10, 2),
+    actual_fare          NUMERIC(10, 2),
+    distance             NUMERIC(8, 2),
+    estimated_duration   INTEGER,
+    actual_duration      INTEGER,
+    driver_rating        INTEGER,
+    customer_rating      INTEGER,
+    pickup_time          TIMESTAMP(6),
+    completion_time      TIMESTAMP(6),
+    created_date         TIMESTAMP(6),
+    updated_date         TIMESTAMP(6)
+);
+
+-- Keyset history pages and findBy{Customer,Driver}Id[AndStatus] ordered by created_date
+CREATE INDEX idx_rides_customer_history ON rides (customer_id, created_date, id);
+CREATE INDEX idx_rides_driver_history ON rides (driver_id, created_date, id);
+CREATE INDEX idx_rides_history ON rides (created_date, id);
+
+-- findByStatus
+CREATE INDEX idx_rides_status ON rides (status);
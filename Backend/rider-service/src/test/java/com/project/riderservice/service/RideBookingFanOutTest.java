@@ -0,0 +1,119 @@
+package com.project.riderservice.service;
+
+import com.project.riderservice.dtos.CreateRideRequestDto;
+import com.project.riderservice.dtos.FareCalculationResponseDto;
+import com.project.riderservice.dtos.UserResponseDto;
+import com.project.riderservice.enums.RideType;
+import com.project.riderservice.exception.RideBookingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "ride.dispatch.mode=immediate",
+        "ride.booking.parallel-enabled=true",
+        "ride.booking.remote-call-timeout-ms=500"
+})
+class RideBookingFanOutTest {
+
+    @Autowired
+    private RideService rideService;
+
+    @MockitoBean
+    private UserProfileCache userProfileCache;
+
+    @MockitoBean
+    private DriverServiceClient driverServiceClient;
+
+    @MockitoBean
+    private PaymentServiceClient paymentServiceClient;
+
+    private long customerId;
+
+    @BeforeEach
+    void setUp() {
+        customerId = System.nanoTime();
+        when(userProfileCache.get(customerId)).thenReturn(UserResponseDto.builder()
+                .id(customerId)
+                .name("Customer")
+                .status("ACTIVE")
+                .build());
+    }
+
+    @Test
+    void slowDependencyTimesOutAndIsCancelled() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(driverServiceClient.getAvailableDrivers()).thenAnswer(blockUntilInterrupted(interrupted));
+        when(paymentServiceClient.calculateFare(any())).thenReturn(ResponseEntity.ok(fare()));
+
+        RideBookingException e = assertThrows(RideBookingException.class,
+                () -> rideService.bookRide(rideRequest(), null));
+
+        assertEquals("Timed out waiting for booking dependencies", e.getMessage());
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS), "slow driver lookup was not cancelled");
+        verify(driverServiceClient, never()).claimDriver(anyLong(), anyLong());
+    }
+
+    @Test
+    void firstFailureCancelsTheOtherCallsWithoutWaitingForTheTimeout() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(driverServiceClient.getAvailableDrivers()).thenAnswer(blockUntilInterrupted(interrupted));
+        when(paymentServiceClient.calculateFare(any())).thenThrow(new IllegalStateException("payment-service down"));
+
+        RideBookingException e = assertThrows(RideBookingException.class,
+                () -> rideService.bookRide(rideRequest(), null));
+
+        assertEquals("Failed to book ride: payment-service down", e.getMessage());
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS), "driver lookup kept running after the fare call failed");
+        verify(driverServiceClient, never()).claimDriver(anyLong(), anyLong());
+    }
+
+    // Stands in for a Feign call stuck on the network; cancel(true) interrupts it
+    private static Answer<Object> blockUntilInterrupted(CountDownLatch interrupted) {
+        return invocation -> {
+            try {
+                Thread.sleep(30_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted");
+            }
+            throw new IllegalStateException("never cancelled");
+        };
+    }
+
+    private CreateRideRequestDto rideRequest() {
+        return CreateRideRequestDto.builder()
+                .customerId(customerId)
+                .pickupLocation("Times Square")
+                .destinationLocation("JFK Airport")
+                .rideType(RideType.ECONOMY)
+                .build();
+    }
+
+    private static FareCalculationResponseDto fare() {
+        return FareCalculationResponseDto.builder()
+                .estimatedFare(new BigDecimal("25.00"))
+                .distance(new BigDecimal("12.50"))
+                .estimatedDuration(40)
+                .rideType(RideType.ECONOMY.name())
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.project.riderservice.service;
+
+import com.project.riderservice.dtos.CreateRideRequestDto;
+import com.project.riderservice.dtos.DriverResponseDto;
+import com.project.riderservice.dtos.FareCalculationResponseDto;
+import com.project.riderservice.dtos.LocationResponseDto;
+import com.project.riderservice.dtos.RideBookingResponseDto;
+import com.project.riderservice.dtos.UserResponseDto;
+import com.project.riderservice.enums.RideType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The booking UI sends place names only, so the pickup coordinates that drive proximity
+ * scoring have to come from the fare response.
+ */
+@SpringBootTest
+class RideBookingProximityTest {
+
+    // Times Square
+    private static final double PICKUP_LATITUDE = 40.7580;
+    private static final double PICKUP_LONGITUDE = -73.9855;
+
+    @Autowired
+    private RideService rideService;
+
+    @MockitoBean
+    private UserProfileCache userProfileCache;
+
+    @MockitoBean
+    private DriverServiceClient driverServiceClient;
+
+    @MockitoBean
+    private PaymentServiceClient paymentServiceClient;
+
+    @Test
+    void nearerDriverWinsWhenPickupIsOnlyKnownFromTheFare() {
+        long customerId = System.nanoTime();
+        long nearDriverId = customerId + 1;
+        long farDriverId = customerId + 2;
+
+        // The far driver is better rated, so only proximity can make the near one win
+        DriverResponseDto nearDriver = driver(nearDriverId, "Near Driver", "4.0", 40.7590, -73.9845);
+        DriverResponseDto farDriver = driver(farDriverId, "Far Driver", "5.0", 40.6413, -73.7781);
+
+        when(userProfileCache.get(customerId)).thenReturn(UserResponseDto.builder()
+                .id(customerId)
+                .name("Customer")
+                .status("ACTIVE")
+                .build());
+        when(driverServiceClient.getAvailableDrivers()).thenReturn(ResponseEntity.ok(List.of(farDriver, nearDriver)));
+        when(driverServiceClient.claimDriver(anyLong(), anyLong())).thenReturn(ResponseEntity.ok().build());
+        when(paymentServiceClient.calculateFare(any())).thenReturn(ResponseEntity.ok(FareCalculationResponseDto.builder()
+                .estimatedFare(new BigDecimal("25.00"))
+                .distance(new BigDecimal("12.50"))
+                .estimatedDuration(40)
+                .rideType(RideType.ECONOMY.name())
+                .pickupLatitude(PICKUP_LATITUDE)
+                .pickupLongitude(PICKUP_LONGITUDE)
+                .build()));
+
+        RideBookingResponseDto booking = rideService.bookRide(CreateRideRequestDto.builder()
+                .customerId(customerId)
+                .pickupLocation("Times Square")
+                .destinationLocation("JFK Airport")
+                .rideType(RideType.ECONOMY)
+                .build(), null);
+
+        assertEquals("Near Driver", booking.getDriverName());
+        verify(driverServiceClient).claimDriver(eq(nearDriverId), anyLong());
+        verify(driverServiceClient, never()).claimDriver(eq(farDriverId), anyLong());
+    }
+
+    private static DriverResponseDto driver(long id, String name, String rating, double latitude, double longitude) {
+        return DriverResponseDto.builder()
+                .id(id)
+                .name(name)
+                .rating(new BigDecimal(rating))
+                .totalRides(100)
+                .location(LocationResponseDto.builder()
+                        .latitude(BigDecimal.valueOf(latitude))
+                        .longitude(BigDecimal.valueOf(longitude))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.project.riderservice.service;
+
+import com.project.riderservice.dtos.DriverResponseDto;
+import com.project.riderservice.dtos.RideBookingResponseDto;
+import com.project.riderservice.dtos.UserResponseDto;
+import com.project.riderservice.entity.Ride;
+import com.project.riderservice.enums.RideStatus;
+import com.project.riderservice.enums.RideType;
+import com.project.riderservice.repository.RideRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class RideDetailsLookupTest {
+
+    private static final int RIDES = 20;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    @MockitoBean
+    private DriverServiceClient driverServiceClient;
+
+    @Test
+    void detailsForManyRidesCostOneLookupPerService() {
+        long base = System.nanoTime();
+        List<Long> rideIds = new ArrayList<>();
+        List<UserResponseDto> customers = new ArrayList<>();
+        List<DriverResponseDto> drivers = new ArrayList<>();
+        for (int i = 0; i < RIDES; i++) {
+            long customerId = base + i;
+            // Every other ride is still waiting for a driver
+            Long driverId = i % 2 == 0 ? base + i : null;
+            Ride ride = rideRepository.save(Ride.builder()
+                    .customerId(customerId)
+                    .driverId(driverId)
+                    .pickupLocation("Times Square")
+                    .destinationLocation("JFK Airport")
+                    .rideType(RideType.ECONOMY)
+                    .status(driverId != null ? RideStatus.CONFIRMED : RideStatus.REQUESTED)
+                    .build());
+            rideIds.add(ride.getId());
+            customers.add(UserResponseDto.builder().id(customerId).name("Customer " + i).build());
+            if (driverId != null) {
+                drivers.add(DriverResponseDto.builder().id(driverId).name("Driver " + i).build());
+            }
+        }
+
+        when(userServiceClient.getUsersByIdMap(anyCollection())).thenCallRealMethod();
+        when(userServiceClient.getUsersByIds(anyList())).thenReturn(ResponseEntity.ok(customers));
+        when(driverServiceClient.getDriversByIdMap(anyCollection())).thenCallRealMethod();
+        when(driverServiceClient.getDriversByIds(anyList())).thenReturn(ResponseEntity.ok(drivers));
+
+        List<RideBookingResponseDto> details = rideService.getRideDetailsByIds(rideIds);
+
+        assertEquals(RIDES, details.size());
+        for (RideBookingResponseDto dto : details) {
+            int i = rideIds.indexOf(dto.getRideId());
+            assertEquals("Customer " + i, dto.getCustomerName());
+            if (i % 2 == 0) {
+                assertEquals("Driver " + i, dto.getDriverName());
+            } else {
+                assertNull(dto.getDriverName());
+            }
+        }
+        verify(userServiceClient, times(1)).getUsersByIds(anyList());
+        verify(driverServiceClient, times(1)).getDriversByIds(anyList());
+    }
+}
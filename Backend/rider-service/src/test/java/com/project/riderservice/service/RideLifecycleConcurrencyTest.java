@@ -0,0 +1,83 @@
+package com.project.riderservice.service;
+
+import com.project.riderservice.entity.Ride;
+import com.project.riderservice.enums.RideStatus;
+import com.project.riderservice.enums.RideType;
+import com.project.riderservice.repository.RideRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+class RideLifecycleConcurrencyTest {
+
+    private static final int CONTENDERS = 16;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @MockitoBean
+    private DriverServiceClient driverServiceClient;
+
+    @Test
+    void concurrentCompleteAndCancelReleaseTheDriverOnce() throws Exception {
+        long driverId = System.nanoTime();
+        Ride ride = rideRepository.save(Ride.builder()
+                .customerId(1L)
+                .driverId(driverId)
+                .pickupLocation("Times Square")
+                .destinationLocation("JFK Airport")
+                .rideType(RideType.ECONOMY)
+                .status(RideStatus.CONFIRMED)
+                .build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONTENDERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONTENDERS; i++) {
+                boolean complete = i % 2 == 0;
+                Callable<Object> attempt = () -> {
+                    start.await();
+                    return complete ? rideService.completeRide(ride.getId()) : rideService.cancelRide(ride.getId());
+                };
+                futures.add(executor.submit(attempt));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    // Losers see the ride already finished
+                }
+            }
+            assertEquals(1, succeeded);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(driverServiceClient, times(1)).releaseDriver(driverId, ride.getId());
+        verify(driverServiceClient, times(1)).releaseDriver(anyLong(), anyLong());
+    }
+}
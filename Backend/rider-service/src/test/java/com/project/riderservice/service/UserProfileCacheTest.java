@@ -0,0 +1,125 @@
+package com.project.riderservice.service;
+
+import com.project.riderservice.dtos.TokenRevocationDto;
+import com.project.riderservice.dtos.UserResponseDto;
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserProfileCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserServiceClient userServiceClient;
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        userServiceClient = mock(UserServiceClient.class);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void freshEntryIsServedWithoutCallingUserService() {
+        when(userServiceClient.getUserById(1L)).thenReturn(ResponseEntity.ok(user(1L, "ACTIVE")));
+        UserProfileCache cache = new UserProfileCache(userServiceClient, executor, meterRegistry, 60_000, 60_000, 100);
+
+        assertEquals("ACTIVE", cache.get(1L).getStatus());
+        assertEquals("ACTIVE", cache.get(1L).getStatus());
+
+        verify(userServiceClient, times(1)).getUserById(1L);
+        assertEquals(1.0, meterRegistry.get("ride.user.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void staleEntryIsServedWhileRefreshingInBackground() throws Exception {
+        when(userServiceClient.getUserById(1L))
+                .thenReturn(ResponseEntity.ok(user(1L, "ACTIVE")))
+                .thenReturn(ResponseEntity.ok(user(1L, "INACTIVE")));
+        UserProfileCache cache = new UserProfileCache(userServiceClient, executor, meterRegistry, 0, 60_000, 100);
+
+        assertEquals("ACTIVE", cache.get(1L).getStatus());
+        Thread.sleep(5);
+        assertEquals("ACTIVE", cache.get(1L).getStatus());
+
+        verify(userServiceClient, timeout(2000).times(2)).getUserById(1L);
+        executor.getThreadPoolExecutor().shutdown();
+        executor.getThreadPoolExecutor().awaitTermination(2, TimeUnit.SECONDS);
+        assertEquals(1.0, meterRegistry.get("ride.user.cache").tag("result", "stale").counter().count());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        when(userServiceClient.getUserById(1L)).thenReturn(ResponseEntity.ok(user(1L, "ACTIVE")));
+        when(userServiceClient.getUserById(2L)).thenReturn(ResponseEntity.ok(user(2L, "ACTIVE")));
+        when(userServiceClient.getUserById(3L)).thenThrow(mock(FeignException.NotFound.class));
+        UserProfileCache cache = new UserProfileCache(userServiceClient, executor, meterRegistry, 60_000, 60_000, 1);
+
+        cache.get(1L);
+        cache.get(2L);
+        assertNull(cache.get(3L));
+
+        assertEquals(1, cache.size());
+        assertEquals(1.0, meterRegistry.get("ride.user.cache.evictions").counter().count());
+    }
+
+    @Test
+    void revokedUserIsReloadedOnNextGet() {
+        when(userServiceClient.getUserById(1L))
+                .thenReturn(ResponseEntity.ok(user(1L, "ACTIVE")))
+                .thenReturn(ResponseEntity.ok(user(1L, "INACTIVE")));
+        when(userServiceClient.getTokenRevocations())
+                .thenReturn(ResponseEntity.ok(List.of(new TokenRevocationDto(1L, System.currentTimeMillis()))));
+        UserProfileCache cache = new UserProfileCache(userServiceClient, executor, meterRegistry, 60_000, 60_000, 100);
+        TokenRevocationList revocationList = new TokenRevocationList(userServiceClient, cache);
+
+        assertEquals("ACTIVE", cache.get(1L).getStatus());
+        revocationList.refresh();
+
+        assertEquals("INACTIVE", cache.get(1L).getStatus());
+        verify(userServiceClient, times(2)).getUserById(1L);
+    }
+
+    @Test
+    void loadThatRacesWithInvalidationIsNotCached() {
+        UserProfileCache cache = new UserProfileCache(userServiceClient, executor, meterRegistry, 60_000, 60_000, 100);
+        // The user is deactivated while their old profile is still in flight
+        when(userServiceClient.getUserById(1L))
+                .thenAnswer(invocation -> {
+                    cache.invalidate(1L);
+                    return ResponseEntity.ok(user(1L, "ACTIVE"));
+                })
+                .thenReturn(ResponseEntity.ok(user(1L, "INACTIVE")));
+
+        assertEquals("ACTIVE", cache.get(1L).getStatus());
+
+        assertEquals(0, cache.size());
+        assertEquals("INACTIVE", cache.get(1L).getStatus());
+        verify(userServiceClient, times(2)).getUserById(1L);
+    }
+
+    private UserResponseDto user(Long id, String status) {
+        return UserResponseDto.builder().id(id).name("Rider " + id).status(status).build();
+    }
+}
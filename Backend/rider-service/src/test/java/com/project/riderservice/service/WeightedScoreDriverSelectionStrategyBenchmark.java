@@ -0,0 +1,92 @@
+package com.project.riderservice.service;
+
+import com.project.riderservice.dtos.CreateRideRequestDto;
+import com.project.riderservice.dtos.DriverResponseDto;
+import com.project.riderservice.dtos.LocationResponseDto;
+import com.project.riderservice.enums.RideType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranks a pool of available drivers for one booking with the weighted strategy, next to the
+ * random strategy it replaced. Run with {@code -prof gc}: gc.alloc.rate.norm for the weighted
+ * strategy stays at the one score array plus the short result list, whatever the pool size.
+ * <p>
+ * Run with {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath org.openjdk.jmh.Main WeightedScoreDriverSelectionStrategyBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeightedScoreDriverSelectionStrategyBenchmark {
+
+    private static final int CANDIDATES_TRIED = 5;
+
+    @Param({"1000", "10000"})
+    public int availableDrivers;
+
+    private final WeightedScoreDriverSelectionStrategy weighted =
+            new WeightedScoreDriverSelectionStrategy(0.6, 0.25, 0.15, 10, 60);
+    private final RandomDriverSelectionStrategy random = new RandomDriverSelectionStrategy();
+
+    private List<DriverResponseDto> drivers;
+    private CreateRideRequestDto rideRequest;
+
+    @Setup
+    public void setUp() {
+        Random seeded = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        drivers = new ArrayList<>(availableDrivers);
+        for (long id = 0; id < availableDrivers; id++) {
+            drivers.add(DriverResponseDto.builder()
+                    .id(id)
+                    .rating(BigDecimal.valueOf(3 + seeded.nextDouble() * 2).setScale(2, RoundingMode.HALF_UP))
+                    .totalRides(seeded.nextInt(500))
+                    .lastTripEndedAt(seeded.nextInt(10) == 0 ? null : now.minusSeconds(seeded.nextInt(7200)))
+                    .location(LocationResponseDto.builder()
+                            .latitude(BigDecimal.valueOf(40.5 + seeded.nextDouble() * 0.5).setScale(8, RoundingMode.HALF_UP))
+                            .longitude(BigDecimal.valueOf(-74.2 + seeded.nextDouble() * 0.5).setScale(8, RoundingMode.HALF_UP))
+                            .build())
+                    .build());
+        }
+
+        rideRequest = CreateRideRequestDto.builder()
+                .customerId(1L)
+                .pickupLocation("Times Square")
+                .destinationLocation("JFK Airport")
+                .rideType(RideType.ECONOMY)
+                .pickupLatitude(40.7580)
+                .pickupLongitude(-73.9855)
+                .build();
+    }
+
+    @Benchmark
+    public List<DriverResponseDto> weightedScore() {
+        return weighted.rank(drivers, rideRequest, CANDIDATES_TRIED);
+    }
+
+    @Benchmark
+    public List<DriverResponseDto> randomPick() {
+        return random.rank(drivers, rideRequest, CANDIDATES_TRIED);
+    }
+}
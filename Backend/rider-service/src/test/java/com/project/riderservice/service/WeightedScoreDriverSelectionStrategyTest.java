@@ -0,0 +1,76 @@
+package com.project.riderservice.service;
+
+import com.project.riderservice.dtos.CreateRideRequestDto;
+import com.project.riderservice.dtos.DriverResponseDto;
+import com.project.riderservice.dtos.LocationResponseDto;
+import com.project.riderservice.enums.RideType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WeightedScoreDriverSelectionStrategyTest {
+
+    private final WeightedScoreDriverSelectionStrategy strategy =
+            new WeightedScoreDriverSelectionStrategy(0.6, 0.25, 0.15, 10, 60);
+
+    private final CreateRideRequestDto rideRequest = CreateRideRequestDto.builder()
+            .customerId(1L)
+            .pickupLocation("Times Square")
+            .destinationLocation("JFK Airport")
+            .rideType(RideType.ECONOMY)
+            .pickupLatitude(40.7580)
+            .pickupLongitude(-73.9855)
+            .build();
+
+    @Test
+    void closerDriverWinsWhenOtherwiseEqual() {
+        DriverResponseDto near = driver(1L, 40.7590, -73.9845, "4.50", 10, null);
+        DriverResponseDto far = driver(2L, 40.6413, -73.7781, "4.50", 10, null);
+
+        List<DriverResponseDto> ranked = strategy.rank(List.of(far, near), rideRequest, 2);
+
+        assertEquals(List.of(near, far), ranked);
+    }
+
+    @Test
+    void ratingAndIdleTimeBreakTiesAtSameDistance() {
+        LocalDateTime justFinished = LocalDateTime.now();
+        DriverResponseDto lowRated = driver(1L, 40.7590, -73.9845, "3.00", 10, justFinished);
+        DriverResponseDto highRatedBusy = driver(2L, 40.7590, -73.9845, "5.00", 10, justFinished);
+        DriverResponseDto highRatedIdle = driver(3L, 40.7590, -73.9845, "5.00", 10, justFinished.minusHours(2));
+
+        List<DriverResponseDto> ranked = strategy.rank(List.of(lowRated, highRatedBusy, highRatedIdle), rideRequest, 3);
+
+        assertEquals(List.of(highRatedIdle, highRatedBusy, lowRated), ranked);
+    }
+
+    @Test
+    void rankIsLimitedToRequestedCandidates() {
+        List<DriverResponseDto> drivers = List.of(
+                driver(1L, 40.70, -73.90, "4.00", 5, null),
+                driver(2L, 40.71, -73.91, "4.00", 5, null),
+                driver(3L, 40.72, -73.92, "4.00", 5, null));
+
+        assertEquals(2, strategy.rank(drivers, rideRequest, 2).size());
+        assertEquals(3, strategy.rank(drivers, null, 10).size());
+    }
+
+    private DriverResponseDto driver(Long id, double latitude, double longitude, String rating, int totalRides,
+                                     LocalDateTime lastTripEndedAt) {
+        return DriverResponseDto.builder()
+                .id(id)
+                .name("Driver " + id)
+                .rating(new BigDecimal(rating))
+                .totalRides(totalRides)
+                .lastTripEndedAt(lastTripEndedAt)
+                .location(LocationResponseDto.builder()
+                        .latitude(BigDecimal.valueOf(latitude))
+                        .longitude(BigDecimal.valueOf(longitude))
+                        .build())
+                .build();
+    }
+}
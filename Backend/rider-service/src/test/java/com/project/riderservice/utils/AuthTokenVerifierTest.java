@@ -0,0 +1,118 @@
+package com.project.riderservice.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.riderservice.dtos.TokenRevocationDto;
+import com.project.riderservice.dtos.UserResponseDto;
+import com.project.riderservice.service.TokenRevocationList;
+import com.project.riderservice.service.UserProfileCache;
+import com.project.riderservice.service.UserServiceClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthTokenVerifierTest {
+
+    private static final String SECRET = "test-auth-token-secret-0123456789abcdef";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UserServiceClient userServiceClient;
+    private TokenRevocationList revocationList;
+    private AuthTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        userServiceClient = mock(UserServiceClient.class);
+        when(userServiceClient.getTokenRevocations()).thenReturn(ResponseEntity.ok(List.of()));
+        revocationList = new TokenRevocationList(userServiceClient, mock(UserProfileCache.class));
+        verifier = new AuthTokenVerifier(objectMapper, revocationList, SECRET);
+    }
+
+    @Test
+    void acceptsAuthenticToken() throws Exception {
+        long now = Instant.now().getEpochSecond();
+        Optional<UserResponseDto> user = verifier.verify("Bearer " + sign(SECRET, 42, now, now + 900));
+
+        assertTrue(user.isPresent());
+        assertEquals(42L, user.get().getId());
+        assertEquals("Test Rider", user.get().getName());
+        assertEquals("ACTIVE", user.get().getStatus());
+    }
+
+    @Test
+    void rejectsForgedExpiredAndMalformedTokens() throws Exception {
+        long now = Instant.now().getEpochSecond();
+
+        assertTrue(verifier.verify("Bearer " + sign("some-other-secret", 42, now, now + 900)).isEmpty());
+        assertTrue(verifier.verify("Bearer " + sign(SECRET, 42, now - 1000, now - 100)).isEmpty());
+        assertTrue(verifier.verify("Bearer not.a.token").isEmpty());
+        assertTrue(verifier.verify("Basic abc").isEmpty());
+        assertTrue(verifier.verify(null).isEmpty());
+    }
+
+    @Test
+    void refusesToStartWithShortSecret() {
+        assertThrows(IllegalStateException.class, () -> new AuthTokenVerifier(objectMapper, revocationList, "too-short"));
+        assertThrows(IllegalStateException.class, () -> new AuthTokenVerifier(objectMapper, revocationList, ""));
+    }
+
+    @Test
+    void rejectsTokensIssuedBeforeRevocation() throws Exception {
+        long now = Instant.now().getEpochSecond();
+        String token = "Bearer " + sign(SECRET, 42, now - 10, now + 900);
+        String otherUser = "Bearer " + sign(SECRET, 7, now - 10, now + 900);
+
+        revokeAt(42L, (now - 5) * 1000);
+
+        assertTrue(verifier.verify(token).isEmpty());
+        assertTrue(verifier.verify(otherUser).isPresent());
+        assertTrue(verifier.verify("Bearer " + sign(SECRET, 42, now, now + 900)).isPresent());
+    }
+
+    @Test
+    void acceptsLoginInTheSameSecondAfterRevocation() throws Exception {
+        long revokedAtMs = Instant.now().toEpochMilli() / 1000 * 1000 + 400;
+        long second = revokedAtMs / 1000;
+
+        revokeAt(42L, revokedAtMs);
+
+        assertTrue(verifier.verify("Bearer " + sign(SECRET, 42, second, revokedAtMs - 1, second + 900)).isEmpty());
+        assertTrue(verifier.verify("Bearer " + sign(SECRET, 42, second, revokedAtMs, second + 900)).isPresent());
+        assertTrue(verifier.verify("Bearer " + sign(SECRET, 42, second, revokedAtMs + 300, second + 900)).isPresent());
+    }
+
+    private void revokeAt(long userId, long revokedBeforeMs) {
+        when(userServiceClient.getTokenRevocations()).thenReturn(ResponseEntity.ok(List.of(
+                TokenRevocationDto.builder().userId(userId).revokedBeforeMs(revokedBeforeMs).build())));
+        revocationList.refresh();
+    }
+
+    private String sign(String secret, long userId, long issuedAt, long expiresAt) throws Exception {
+        return sign(secret, userId, issuedAt, issuedAt * 1000, expiresAt);
+    }
+
+    private String sign(String secret, long userId, long issuedAt, long issuedAtMs, long expiresAt) throws Exception {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        AuthTokenVerifier.AuthTokenClaims claims = new AuthTokenVerifier.AuthTokenClaims(String.valueOf(userId),
+                "rider" + userId, "Test Rider", "rider@example.com", "CUSTOMER", "ACTIVE", issuedAt, issuedAtMs, expiresAt);
+        String signingInput = encoder.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(objectMapper.writeValueAsBytes(claims));
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return signingInput + "." + encoder.encodeToString(mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
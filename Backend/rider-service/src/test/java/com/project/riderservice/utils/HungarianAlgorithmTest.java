@@ -0,0 +1,74 @@
+package com.project.riderservice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HungarianAlgorithmTest {
+
+    @Test
+    void findsOptimalAssignmentWhereGreedyDoesNot() {
+        // Greedy row-by-row picks (0,0) then (1,1) for a total of 1 + 10
+        double[][] cost = {
+                {1, 2},
+                {2, 10}
+        };
+
+        assertArrayEquals(new int[]{1, 0}, HungarianAlgorithm.solve(cost));
+    }
+
+    @Test
+    void matchesBruteForceOnRandomMatrices() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 200; trial++) {
+            int rows = 1 + random.nextInt(6);
+            int cols = 1 + random.nextInt(6);
+            double[][] cost = new double[rows][cols];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    cost[r][c] = random.nextDouble() * 20;
+                }
+            }
+
+            int[] assignment = HungarianAlgorithm.solve(cost);
+
+            Set<Integer> used = new HashSet<>();
+            int assigned = 0;
+            double total = 0;
+            for (int r = 0; r < rows; r++) {
+                if (assignment[r] >= 0) {
+                    assertEquals(true, used.add(assignment[r]), "column assigned twice");
+                    total += cost[r][assignment[r]];
+                    assigned++;
+                }
+            }
+            assertEquals(Math.min(rows, cols), assigned);
+            assertEquals(bruteForce(cost, 0, new boolean[cols], Math.min(rows, cols)), total, 1e-9);
+        }
+    }
+
+    // Cheapest total over all ways of assigning `remaining` more rows to distinct columns
+    private double bruteForce(double[][] cost, int row, boolean[] usedCols, int remaining) {
+        if (remaining == 0) {
+            return 0;
+        }
+        if (cost.length - row < remaining) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double best = bruteForce(cost, row + 1, usedCols, remaining);
+        for (int c = 0; c < usedCols.length; c++) {
+            if (!usedCols[c]) {
+                usedCols[c] = true;
+                best = Math.min(best, cost[row][c] + bruteForce(cost, row + 1, usedCols, remaining - 1));
+                usedCols[c] = false;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,31 @@
+package com.project.riderservice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RideCursorTest {
+
+    @Test
+    void roundTripsThroughOpaqueToken() {
+        RideCursor cursor = new RideCursor(LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000), 42L);
+
+        assertEquals(cursor, RideCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void missingCursorStartsAtFirstPage() {
+        assertSame(RideCursor.FIRST_PAGE, RideCursor.decode(null));
+        assertSame(RideCursor.FIRST_PAGE, RideCursor.decode(""));
+    }
+
+    @Test
+    void rejectsTamperedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> RideCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> RideCursor.decode("%%%"));
+    }
+}
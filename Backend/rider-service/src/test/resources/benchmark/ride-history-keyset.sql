@@ -0,0 +1,62 @@
+-- Ride history pagination benchmark.
+--
+-- Run against a scratch copy of the rides database after ride-service has created the schema:
+--   psql -d rides_bench -f ride-history-keyset.sql
+--
+-- Loads ~10M synthetic rides for 100k customers and 20k drivers (a few customers and drivers
+-- have very long histories), then compares the old full-history query with the first and a deep
+-- keyset page. The keyset plans should be an Index Scan on idx_rides_customer_history /
+-- idx_rides_driver_history with the same cost at any depth, while the full-history query grows
+-- linearly with the history length.
+
+\timing on
+
+TRUNCATE rides RESTART IDENTITY;
+
+INSERT INTO rides (customer_id, driver_id, customer_name, driver_name, pickup_location, destination_location,
+                   status, ride_type, estimated_fare, actual_fare, distance, estimated_duration, created_date, updated_date)
+SELECT CASE WHEN n % 100 = 0 THEN 1 ELSE 1 + (n * 7919) % 100000 END,
+       CASE WHEN n % 200 = 0 THEN 1 ELSE 1 + (n * 104729) % 20000 END,
+       'Customer ' || n % 100000,
+       'Driver ' || n % 20000,
+       'Times Square',
+       'JFK Airport',
+       (ARRAY ['COMPLETED', 'COMPLETED', 'COMPLETED', 'CANCELLED', 'IN_PROGRESS'])[1 + n % 5],
+       (ARRAY ['ECONOMY', 'PREMIUM', 'LUXURY'])[1 + n % 3],
+       25.00, 25.00, 12.50, 30,
+       -- Several rides share a timestamp so the id tie-breaker is exercised
+       TIMESTAMP '2020-01-01' + ((n / 3) * INTERVAL '5 seconds'),
+       TIMESTAMP '2020-01-01' + ((n / 3) * INTERVAL '5 seconds')
+FROM generate_series(1, 10000000) AS n;
+
+ANALYZE rides;
+
+-- Customer 1 has ~100k rides, customer 4242 a typical ~100.
+SELECT customer_id, COUNT(*) FROM rides WHERE customer_id IN (1, 4242) GROUP BY customer_id;
+
+-- Before: whole history on every app open
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM rides WHERE customer_id = 1 ORDER BY created_date DESC;
+
+-- After: first page (RideCursor.FIRST_PAGE)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM rides WHERE customer_id = 1 AND (created_date, id) < (TIMESTAMP '9999-12-31', 9223372036854775807)
+ORDER BY created_date DESC, id DESC LIMIT 21;
+
+-- After: a page ~90k rides deep, should cost the same as the first page.
+-- The cursor is looked up first so its OFFSET scan is not part of the measured plan.
+SELECT created_date AS deep_created_date, id AS deep_id FROM rides WHERE customer_id = 1
+ORDER BY created_date DESC, id DESC OFFSET 90000 LIMIT 1 \gset
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM rides WHERE customer_id = 1 AND (created_date, id) < (:'deep_created_date', :deep_id)
+ORDER BY created_date DESC, id DESC LIMIT 21;
+
+-- Driver and admin listings
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM rides WHERE driver_id = 1 AND (created_date, id) < (TIMESTAMP '9999-12-31', 9223372036854775807)
+ORDER BY created_date DESC, id DESC LIMIT 21;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM rides WHERE (created_date, id) < (TIMESTAMP '2022-06-01', 1)
+ORDER BY created_date DESC, id DESC LIMIT 21;
@@ -28,6 +28,14 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/token-revocations")
+    public ResponseEntity<List<TokenRevocationDto>> getTokenRevocations() {
+        log.debug("Token revocation list requested");
+
+        List<TokenRevocationDto> revocations = userService.getTokenRevocations();
+        return ResponseEntity.ok(revocations);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
         log.info("Get user request received for ID: {}", id);
@@ -69,6 +77,14 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<UserDto>> getUsersByIds(@RequestParam List<Long> ids) {
+        log.info("Get users by ids request received for {} ids", ids.size());
+
+        List<UserDto> users = userService.getUsersByIds(ids);
+        return ResponseEntity.ok(users);
+    }
+
     @GetMapping
     public ResponseEntity<List<UserDto>> getAllUsers() {
         log.info("Get all users request received");
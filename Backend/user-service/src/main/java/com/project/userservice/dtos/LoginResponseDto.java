@@ -7,6 +7,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,4 +21,6 @@ public class LoginResponseDto {
     private UserRole role;
     private UserStatus status;
     private String message;
+    private String token;
+    private LocalDateTime expiresAt;
 }
\ No newline at end of file
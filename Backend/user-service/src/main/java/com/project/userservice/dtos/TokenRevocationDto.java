@@ -0,0 +1,16 @@
+package com.project.userservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationDto {
+    private Long userId;
+    // Epoch millis; tokens with iatMs before this are revoked
+    private Long revokedBeforeMs;
+}
@@ -0,0 +1,83 @@
+package com.project.userservice.service;
+
+import com.project.userservice.dtos.UserDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU of user profiles by id, in front of the most frequent read in the system.
+ * Writers must call {@link #invalidate} once their change is committed.
+ */
+@Component
+public class UserCache {
+
+    private final int maxSize;
+    private final Map<Long, UserDto> users;
+    // Bumped on every invalidation so a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public UserCache(@Value("${user.cache.max-size:10000}") int maxSize, MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserDto> eldest) {
+                if (size() > UserCache.this.maxSize) {
+                    UserCache.this.evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = Counter.builder("user.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("user.cache").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("user.cache.evictions").register(meterRegistry);
+        Gauge.builder("user.cache.size", this, UserCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached profile, or loads and caches it. The loader runs outside the lock.
+     */
+    public UserDto get(Long id, Supplier<UserDto> loader) {
+        synchronized (users) {
+            UserDto cached = users.get(id);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        UserDto loaded = loader.get();
+        synchronized (users) {
+            if (generation.get() == loadGeneration) {
+                users.put(id, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long id) {
+        synchronized (users) {
+            generation.incrementAndGet();
+            users.remove(id);
+        }
+    }
+
+    public int size() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+}
@@ -1,19 +1,30 @@
 package com.project.userservice.service;
 
 import com.project.userservice.dtos.*;
+import com.project.userservice.entity.TokenRevocation;
 import com.project.userservice.entity.User;
 import com.project.userservice.enums.UserRole;
 import com.project.userservice.enums.UserStatus;
 import com.project.userservice.exception.ResourceNotFoundException;
 import com.project.userservice.exception.UserAlreadyExistsException;
+import com.project.userservice.repository.TokenRevocationRepository;
 import com.project.userservice.repository.UserRepository;
+import com.project.userservice.utils.AuthTokenSigner;
 import com.project.userservice.utils.UserMapper;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.auth.InvalidCredentialsException;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @Service
@@ -22,8 +33,13 @@ import java.util.List;
 @Transactional
 public class UserService {
 
+    private static final int IN_LIST_CHUNK_SIZE = 500;
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final AuthTokenSigner authTokenSigner;
+    private final UserCache userCache;
 
     @Transactional
     public LoginResponseDto authenticateUser(LoginRequestDto loginRequest) throws InvalidCredentialsException {
@@ -42,17 +58,33 @@ public class UserService {
 
         log.info("User authenticated successfully: {}", user.getUsername());
 
-        return userMapper.toLoginResponseDto(user);
+        AuthTokenSigner.IssuedToken issuedToken = authTokenSigner.issue(user);
+        LoginResponseDto response = userMapper.toLoginResponseDto(user);
+        response.setToken(issuedToken.token());
+        response.setExpiresAt(LocalDateTime.ofInstant(Instant.ofEpochSecond(issuedToken.expiresAt()), ZoneId.systemDefault()));
+        return response;
     }
 
     @Transactional
     public UserDto getUserById(Long id) {
         log.info("Fetching user by ID: {}", id);
 
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        return userCache.get(id, () -> userRepository.findById(id)
+                .map(userMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id)));
+    }
 
-        return userMapper.toDto(user);
+    @Transactional
+    public List<UserDto> getUsersByIds(List<Long> ids) {
+        log.info("Fetching {} users by id", ids.size());
+
+        // One IN query per chunk keeps large lists under the bind-parameter limit
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<User> users = new ArrayList<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += IN_LIST_CHUNK_SIZE) {
+            users.addAll(userRepository.findAllById(distinctIds.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, distinctIds.size()))));
+        }
+        return userMapper.toDtoList(users);
     }
 
     @Transactional
@@ -102,6 +134,7 @@ public class UserService {
 
         userMapper.updateEntityFromDto(updateUserRequest, user);
         User updatedUser = userRepository.save(user);
+        invalidateCachedUserAfterCommit(id);
 
         log.info("User updated successfully: {}", updatedUser.getUsername());
 
@@ -119,6 +152,15 @@ public class UserService {
 
             user.setStatus(status);
             User updatedUser = userRepository.save(user);
+            invalidateCachedUserAfterCommit(id);
+
+            // Outstanding tokens still claim ACTIVE until they expire; revoke them
+            if (!UserStatus.ACTIVE.equals(status)) {
+                tokenRevocationRepository.save(TokenRevocation.builder()
+                        .userId(id)
+                        .revokedAt(LocalDateTime.now(ZoneOffset.UTC))
+                        .build());
+            }
 
             log.info("User status updated successfully: {}", updatedUser.getUsername());
 
@@ -128,6 +170,40 @@ public class UserService {
         }
     }
 
+    @Transactional
+    public List<TokenRevocationDto> getTokenRevocations() {
+        // Older revocations only cover tokens that have expired anyway
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minusSeconds(authTokenSigner.getTtlSeconds());
+
+        return tokenRevocationRepository.findByRevokedAtAfter(cutoff).stream()
+                .map(revocation -> TokenRevocationDto.builder()
+                        .userId(revocation.getUserId())
+                        .revokedBeforeMs(revokedBeforeMs(revocation.getRevokedAt()))
+                        .build())
+                .toList();
+    }
+
+    // Rounded up so a token issued earlier within the same millisecond is still revoked
+    private static long revokedBeforeMs(LocalDateTime revokedAt) {
+        Instant instant = revokedAt.toInstant(ZoneOffset.UTC);
+        return instant.toEpochMilli() + (instant.getNano() % 1_000_000 == 0 ? 0 : 1);
+    }
+
+    // Evicting before commit would let a concurrent read cache the old row again
+    private void invalidateCachedUserAfterCommit(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userCache.invalidate(id);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userCache.invalidate(id);
+            }
+        });
+    }
+
     @Transactional
     public List<UserDto> getAllUsers() {
         log.info("Fetching all users");
@@ -0,0 +1,85 @@
+package com.project.userservice.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.userservice.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Issues short-lived HS256 tokens in JWT compact form ({@code header.claims.hmac}).
+ * The claims carry enough of the user for the gateway and ride-service to skip the user lookup;
+ * both verify with the same {@code auth.token.secret}.
+ */
+@Component
+public class AuthTokenSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final String HEADER = "{\"alg\":\"HS256\",\"typ\":\"JWT\"}";
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+
+    public AuthTokenSigner(ObjectMapper objectMapper,
+                           @Value("${auth.token.secret}") String secret,
+                           @Value("${auth.token.ttl-seconds:900}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        // No default key: a missing or short secret would let anyone mint tokens
+        if (secretBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("auth.token.secret must be set to at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public IssuedToken issue(User user) {
+        Instant now = Instant.now();
+        long issuedAt = now.getEpochSecond();
+        AuthTokenClaims claims = new AuthTokenClaims(String.valueOf(user.getId()), user.getUsername(), user.getName(),
+                user.getEmail(), user.getRole().name(), user.getStatus().name(), issuedAt, now.toEpochMilli(),
+                issuedAt + ttlSeconds);
+
+        try {
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            String signingInput = encoder.encodeToString(HEADER.getBytes(StandardCharsets.UTF_8)) + "."
+                    + encoder.encodeToString(objectMapper.writeValueAsBytes(claims));
+
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            String signature = encoder.encodeToString(mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+
+            return new IssuedToken(signingInput + "." + signature, claims.exp());
+        } catch (JsonProcessingException | GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign auth token", e);
+        }
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public record AuthTokenClaims(String sub,
+                                  String username,
+                                  String name,
+                                  String email,
+                                  String role,
+                                  String status,
+                                  long iat,
+                                  // Millisecond issue time, so revocations in the same second as a new login are exact
+                                  long iatMs,
+                                  long exp) {
+    }
+
+    public record IssuedToken(String token, long expiresAt) {
+    }
+}
@@ -0,0 +1,27 @@
+-- Baseline schema for user-service. Replaces spring.jpa.hibernate.ddl-auto=create;
+-- Hibernate now only validates the entities against these tables.
+
+CREATE TABLE users (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username     VARCHAR(50)  NOT NULL,
+    password     VARCHAR(255) NOT NULL,
+    name         VARCHAR(100) NOT NULL,
+    email        VARCHAR(255) NOT NULL,
+    role         VARCHAR(20)  NOT NULL CHECK (role IN ('ADMIN', 'CUSTOMER')),
+    status       VARCHAR(20)  NOT NULL DEFAULT 'ACTIVE' CHECK (status IN ('ACTIVE', 'INACTIVE')),
+    created_date TIMESTAMP(6),
+    updated_date TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- findByRole / findActiveUsersByRole
+CREATE INDEX idx_users_role_status ON users (role, status);
+
+CREATE TABLE token_revocations (
+    user_id    BIGINT PRIMARY KEY,
+    revoked_at TIMESTAMP(6) NOT NULL
+);
+
+-- findByRevokedAtAfter (polled by the gateway and ride-service)
+CREATE INDEX idx_token_revocations_revoked_at ON token_revocations (revoked_at);
@@ -1,13 +1,16 @@
 import { Component, OnInit } from '@angular/core';
 import { Router } from '@angular/router';
+import { forkJoin } from 'rxjs';
 import { AuthService } from '../../../services/auth.service';
 import { RideService } from '../../../services/ride.service';
 import { PaymentService } from '../../../services/payment.service';
 import { NotificationService } from '../../../services/notification.service';
 import { User } from '../../../models/user.model';
-import { Ride, RideStatus } from '../../../models/ride.model';
+import { Ride, RidePage, RideSummary, RideStatus } from '../../../models/ride.model';
 import { Payment, PaymentStatus } from '../../../models/payment.model';
 
+const RECENT_RIDES = 5;
+
 interface DashboardStats {
   totalRides: number;
   completedRides: number;
@@ -57,10 +60,13 @@ export class CustomerDashboard implements OnInit {
 
     this.isLoading = true;
 
-    // Load rides
-    this.rideService.getCustomerRides(this.currentUser.id).subscribe({
-      next: (rides) => {
-        this.processRidesData(rides);
+    // Load the newest rides and the stats for the whole history
+    forkJoin({
+      page: this.rideService.getCustomerRidePage(this.currentUser.id, RECENT_RIDES),
+      summary: this.rideService.getCustomerRideSummary(this.currentUser.id),
+    }).subscribe({
+      next: ({ page, summary }) => {
+        this.processRidesData(page, summary);
         this.loadPaymentsData();
       },
       error: (error) => {
@@ -77,40 +83,16 @@ export class CustomerDashboard implements OnInit {
     return this.currentUser?.name ? this.currentUser.name.split(' ')[0] : '';
   }
 
-  processRidesData(rides: Ride[]): void {
-    this.recentRides = rides.slice(0, 5);
-
-    // Find active ride
-    this.activeRide =
-      rides.find(
-        (ride) =>
-          ride.status === RideStatus.CONFIRMED ||
-          ride.status === RideStatus.IN_PROGRESS
-      ) || null;
-
-    // Calculate stats
-    this.stats.totalRides = rides.length;
-    this.stats.completedRides = rides.filter(
-      (ride) => ride.status === RideStatus.COMPLETED
-    ).length;
-    this.stats.activeRides = rides.filter(
-      (ride) =>
-        ride.status === RideStatus.CONFIRMED ||
-        ride.status === RideStatus.IN_PROGRESS
-    ).length;
-
-    // Calculate average rating given by customer
-    const ratedRides = rides.filter(
-      (ride) => ride.driverRating && ride.driverRating > 0
-    );
-    if (ratedRides.length > 0) {
-      const totalRating = ratedRides.reduce(
-        (sum, ride) => sum + (ride.driverRating || 0),
-        0
-      );
-      this.stats.averageRating = Number(
-        (totalRating / ratedRides.length).toFixed(1)
-      );
+  processRidesData(page: RidePage, summary: RideSummary): void {
+    this.recentRides = page.rides;
+    this.activeRide = summary.activeRide || null;
+
+    // Stats come from the server-side summary, so the whole history is never downloaded
+    this.stats.totalRides = summary.totalRides;
+    this.stats.completedRides = summary.completedRides;
+    this.stats.activeRides = summary.activeRides;
+    if (summary.averageDriverRating) {
+      this.stats.averageRating = Number(summary.averageDriverRating.toFixed(1));
     }
   }
 
@@ -12,7 +12,7 @@ import {
   RideBookingResponse,
 } from '../../models/ride.model';
 import {
-  FareCalculationRequest,
+  BatchFareCalculationRequest,
   FareCalculationResponse,
 } from '../../models/payment.model';
 import { RIDE_TYPE_CONFIG } from '../../utils/constants';
@@ -44,6 +44,7 @@ export class RideBooking implements OnInit {
 
   // Data
   fareEstimate: FareCalculationResponse | null = null;
+  fareEstimates: Partial<Record<RideType, FareCalculationResponse>> = {};
   selectedRideType: RideType = RideType.ECONOMY;
   rideTypes = Object.values(RideType);
   rideTypeConfig = RIDE_TYPE_CONFIG;
@@ -199,6 +200,7 @@ export class RideBooking implements OnInit {
   selectRideType(rideType: RideType): void {
     this.selectedRideType = rideType;
     this.bookingForm.patchValue({ rideType });
+    this.fareEstimate = this.fareEstimates[rideType] ?? null;
   }
 
   // Fare calculation
@@ -206,15 +208,24 @@ export class RideBooking implements OnInit {
     if (!this.validateStep1()) return;
 
     this.isLoadingFare = true;
-    const fareRequest: FareCalculationRequest = {
-      pickupLocation: this.bookingForm.get('pickupLocation')?.value,
-      destinationLocation: this.bookingForm.get('destinationLocation')?.value,
-      rideType: this.selectedRideType,
+    // One call prices every ride type for the route
+    const fareRequest: BatchFareCalculationRequest = {
+      routes: [
+        {
+          pickupLocation: this.bookingForm.get('pickupLocation')?.value,
+          destinationLocation: this.bookingForm.get('destinationLocation')?.value,
+        },
+      ],
+      rideTypes: this.rideTypes,
     };
 
-    this.paymentService.calculateFare(fareRequest).subscribe({
+    this.paymentService.calculateFares(fareRequest).subscribe({
       next: (response) => {
-        this.fareEstimate = response;
+        this.fareEstimates = {};
+        for (const estimate of response.routes[0]?.estimates ?? []) {
+          this.fareEstimates[estimate.rideType as RideType] = estimate;
+        }
+        this.fareEstimate = this.fareEstimates[this.selectedRideType] ?? null;
         this.isLoadingFare = false;
         this.currentStep = 2;
       },
@@ -236,6 +247,7 @@ export class RideBooking implements OnInit {
       pickupLocation: this.bookingForm.get('pickupLocation')?.value,
       destinationLocation: this.bookingForm.get('destinationLocation')?.value,
       rideType: this.selectedRideType,
+      quoteId: this.fareEstimate.quoteId,
     };
 
     this.rideService.bookRide(rideRequest).subscribe({
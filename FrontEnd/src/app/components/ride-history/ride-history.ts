@@ -35,6 +35,11 @@ export class RideHistory implements OnInit {
   filterForm!: FormGroup;
   showFilters = false;
 
+  // History is fetched from the server a page at a time for customers
+  historyPageSize = 50;
+  nextCursor: string | null = null;
+  isLoadingMore = false;
+
   // Pagination
   currentPage = 1;
   itemsPerPage = 10;
@@ -99,9 +104,10 @@ export class RideHistory implements OnInit {
         },
       });
     } else if (this.currentUser?.id) {
-      this.rideService.getCustomerRides(this.currentUser.id).subscribe({
-        next: (rides) => {
-          this.rides = rides;
+      this.rideService.getCustomerRidePage(this.currentUser.id, this.historyPageSize).subscribe({
+        next: (page) => {
+          this.rides = page.rides;
+          this.nextCursor = page.nextCursor || null;
           this.applyFilters();
           this.isLoading = false;
         },
@@ -113,6 +119,26 @@ export class RideHistory implements OnInit {
     }
   }
 
+  loadMoreRides(): void {
+    if (!this.currentUser?.id || !this.nextCursor || this.isLoadingMore) return;
+
+    this.isLoadingMore = true;
+    this.rideService
+      .getCustomerRidePage(this.currentUser.id, this.historyPageSize, this.nextCursor)
+      .subscribe({
+        next: (page) => {
+          this.rides = [...this.rides, ...page.rides];
+          this.nextCursor = page.nextCursor || null;
+          this.applyFilters();
+          this.isLoadingMore = false;
+        },
+        error: (error) => {
+          this.isLoadingMore = false;
+          this.notificationService.error('Error', 'Failed to load more rides');
+        },
+      });
+  }
+
   applyFilters(): void {
     const filters = this.filterForm.value as RideFilter;
     let filtered = [...this.rides];
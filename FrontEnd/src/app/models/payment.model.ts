@@ -25,6 +25,29 @@ export interface FareCalculationResponse {
   baseFare: number;
   pricePerMile: number;
   rideType: string;
+  quoteId?: string;
+  quoteExpiresAt?: Date;
+}
+
+export interface FareRoute {
+  pickupLocation: string;
+  destinationLocation: string;
+}
+
+export interface BatchFareCalculationRequest {
+  routes: FareRoute[];
+  rideTypes?: string[];
+}
+
+export interface RouteFareEstimate {
+  pickupLocation: string;
+  destinationLocation: string;
+  distance: number;
+  estimates: FareCalculationResponse[];
+}
+
+export interface BatchFareCalculationResponse {
+  routes: RouteFareEstimate[];
 }
 
 export interface PaymentRequest {
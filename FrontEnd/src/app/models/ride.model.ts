@@ -21,11 +21,25 @@ export interface Ride {
   updatedDate?: Date;
 }
 
+export interface RidePage {
+  rides: Ride[];
+  nextCursor?: string;
+}
+
+export interface RideSummary {
+  totalRides: number;
+  completedRides: number;
+  activeRides: number;
+  averageDriverRating?: number;
+  activeRide?: Ride;
+}
+
 export interface CreateRideRequest {
   customerId: number;
   pickupLocation: string;
   destinationLocation: string;
   rideType: RideType;
+  quoteId?: string;
 }
 
 export interface RideBookingResponse {
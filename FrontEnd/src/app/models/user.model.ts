@@ -27,6 +27,8 @@ export interface LoginResponse {
   role: UserRole;
   status: UserStatus;
   message: string;
+  token?: string;
+  expiresAt?: string;
 }
 
 export interface CreateUserRequest {
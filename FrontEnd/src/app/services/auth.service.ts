@@ -38,6 +38,9 @@ export class AuthService {
               status: response.status,
             };
             this.setCurrentUser(user);
+            if (response.token) {
+              localStorage.setItem(STORAGE_KEYS.TOKEN, response.token);
+            }
           }
         })
       );
@@ -55,6 +58,10 @@ export class AuthService {
     this.currentUserSubject.next(user);
   }
 
+  getToken(): string | null {
+    return localStorage.getItem(STORAGE_KEYS.TOKEN);
+  }
+
   getCurrentUser(): User | null {
     return this.currentUserSubject.value;
   }
@@ -5,6 +5,8 @@ import {
   Payment, 
   FareCalculationRequest, 
   FareCalculationResponse, 
+  BatchFareCalculationRequest,
+  BatchFareCalculationResponse,
   PaymentRequest, 
   PaymentResponse 
 } from '../models/payment.model';
@@ -22,6 +24,10 @@ export class PaymentService {
     return this.http.post<FareCalculationResponse>(`${this.apiUrl}/calculate-fare`, request);
   }
 
+  calculateFares(request: BatchFareCalculationRequest): Observable<BatchFareCalculationResponse> {
+    return this.http.post<BatchFareCalculationResponse>(`${this.apiUrl}/calculate-fare/batch`, request);
+  }
+
   processPayment(request: PaymentRequest): Observable<PaymentResponse> {
     return this.http.post<PaymentResponse>(`${this.apiUrl}/process`, request);
   }
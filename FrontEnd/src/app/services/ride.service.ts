@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Ride, CreateRideRequest, RideBookingResponse, RateDriverRequest } from '../models/ride.model';
+import { Ride, RidePage, RideSummary, CreateRideRequest, RideBookingResponse, RateDriverRequest } from '../models/ride.model';
 import { environment } from '../environment';
 
 @Injectable({
@@ -28,6 +28,15 @@ export class RideService {
     return this.http.get<Ride[]>(`${this.apiUrl}?customerId=${customerId}`);
   }
 
+  getCustomerRidePage(customerId: number, limit: number, cursor?: string): Observable<RidePage> {
+    const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+    return this.http.get<RidePage>(`${this.apiUrl}?customerId=${customerId}&limit=${limit}${cursorParam}`);
+  }
+
+  getCustomerRideSummary(customerId: number): Observable<RideSummary> {
+    return this.http.get<RideSummary>(`${this.apiUrl}/summary?customerId=${customerId}`);
+  }
+
   getDriverRides(driverId: number): Observable<Ride[]> {
     return this.http.get<Ride[]>(`${this.apiUrl}?driverId=${driverId}`);
   }